@@ -753,6 +753,11 @@ public class QueueManagerJUnitTest {
       return null;
     }
 
+    @Override
+    public ByteBuffer getCommBufferForAsyncRead() {
+      return null;
+    }
+
     @Override
     public Endpoint getEndpoint() {
       return endpoint;
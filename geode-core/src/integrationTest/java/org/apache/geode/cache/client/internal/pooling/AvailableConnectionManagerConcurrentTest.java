@@ -214,6 +214,11 @@ public class AvailableConnectionManagerConcurrentTest {
         return null;
       }
 
+      @Override
+      public ByteBuffer getCommBufferForAsyncRead() {
+        return null;
+      }
+
       @Override
       public ConnectionStats getStats() {
         return null;
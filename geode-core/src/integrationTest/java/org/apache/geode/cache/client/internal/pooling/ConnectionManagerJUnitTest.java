@@ -893,6 +893,11 @@ public class ConnectionManagerJUnitTest {
           return null;
         }
 
+        @Override
+        public ByteBuffer getCommBufferForAsyncRead() {
+          return null;
+        }
+
         @Override
         public Socket getSocket() {
           return null;
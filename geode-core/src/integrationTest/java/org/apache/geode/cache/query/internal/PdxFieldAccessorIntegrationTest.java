@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.cache.Region.SEPARATOR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.WritablePdxInstance;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
+import org.apache.geode.pdx.internal.WritablePdxInstanceImpl;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+import org.apache.geode.test.junit.rules.ServerStarterRule;
+
+/**
+ * Verifies queries whose paths are read from PdxInstances by the {@link PdxFieldAccessor} of a
+ * {@link CompiledPath}.
+ */
+@Category({OQLQueryTest.class})
+public class PdxFieldAccessorIntegrationTest {
+  private static final String CLASS_NAME = "org.apache.geode.test.Person";
+
+  @Rule
+  public ServerStarterRule server =
+      new ServerStarterRule().withPDXReadSerialized().withAutoStart();
+
+  private InternalCache cache;
+  private QueryService queryService;
+  private Region<Integer, PdxInstance> region;
+
+  @Before
+  public void setUp() {
+    cache = server.getCache();
+    queryService = cache.getQueryService();
+    region = cache.<Integer, PdxInstance>createRegionFactory(RegionShortcut.REPLICATE)
+        .create("people");
+  }
+
+  @Test
+  public void pathIsReadFromEntriesOfDifferentPdxTypes() throws Exception {
+    // the two versions of the type have age at different positions in the serialized bytes
+    for (int i = 0; i < 20; i++) {
+      region.put(i, i % 2 == 0 ? person(i, 10 + i) : personWithCity(i, 10 + i, "city" + i));
+    }
+
+    SelectResults<Object> results = query(
+        "select p.id from " + SEPARATOR + "people p where p.age >= 20 and p.name <> 'name12'");
+
+    assertThat(results.asList()).containsExactlyInAnyOrder(10, 11, 13, 14, 15, 16, 17, 18, 19);
+    assertThat(region.get(11)).isExactlyInstanceOf(PdxInstanceImpl.class);
+  }
+
+  @Test
+  public void stringFieldsOfDifferentPdxTypesAreCompared() throws Exception {
+    region.put(1, person(1, 30));
+    region.put(2, personWithCity(2, 30, "Lisbon"));
+    region.put(3, person(3, 30));
+
+    SelectResults<Object> results =
+        query("select p.id from " + SEPARATOR + "people p where p.name = 'name2'");
+
+    assertThat(results.asList()).containsExactly(2);
+  }
+
+  @Test
+  public void missingFieldReadsDefaultValueOfOtherPdxType() throws Exception {
+    region.put(1, personWithCity(1, 30, "Lisbon"));
+    region.put(2, person(2, 40));
+    region.put(3, personWithCity(3, 50, "Porto"));
+
+    SelectResults<Object> withoutCity =
+        query("select p.id from " + SEPARATOR + "people p where p.city = null");
+    SelectResults<Object> withCity =
+        query("select p.city from " + SEPARATOR + "people p where p.city <> null");
+
+    assertThat(withoutCity.asList()).containsExactly(2);
+    assertThat(withCity.asList()).extracting(String::valueOf)
+        .containsExactlyInAnyOrder("Lisbon", "Porto");
+  }
+
+  @Test
+  public void pendingWritesOfWritablePdxInstanceAreRead() throws Exception {
+    WritablePdxInstance updated = person(1, 30).createWriter();
+    updated.setField("age", 60);
+    updated.setField("name", "renamed");
+    PdxInstance unchanged = personWithCity(2, 30, "Lisbon");
+    assertThat(updated).isExactlyInstanceOf(WritablePdxInstanceImpl.class);
+
+    SelectResults<Object> results = (SelectResults<Object>) queryService
+        .newQuery("select p.name from $1 p where p.age > 50")
+        .execute(new Object[] {Arrays.asList(updated, unchanged)});
+
+    assertThat(results.asList()).extracting(String::valueOf).containsExactly("renamed");
+  }
+
+  @Test
+  public void samePathIsReadFromReadOnlyAndWritableInstances() throws Exception {
+    List<PdxInstance> people = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      PdxInstance person = person(i, 20);
+      if (i % 3 == 0) {
+        WritablePdxInstance writable = person.createWriter();
+        writable.setField("age", 40);
+        person = writable;
+      }
+      people.add(person);
+    }
+
+    SelectResults<Object> results = (SelectResults<Object>) queryService
+        .newQuery("select p.id from $1 p where p.age = 40")
+        .execute(new Object[] {people});
+
+    assertThat(results.asList()).containsExactlyInAnyOrder(0, 3, 6, 9);
+  }
+
+  @SuppressWarnings("unchecked")
+  private SelectResults<Object> query(String queryString) throws Exception {
+    return (SelectResults<Object>) queryService.newQuery(queryString).execute();
+  }
+
+  private PdxInstance person(int id, int age) {
+    return cache.createPdxInstanceFactory(CLASS_NAME, false)
+        .writeInt("id", id)
+        .writeString("name", "name" + id)
+        .writeInt("age", age)
+        .create();
+  }
+
+  private PdxInstance personWithCity(int id, int age, String city) {
+    return cache.createPdxInstanceFactory(CLASS_NAME, false)
+        .writeString("city", city)
+        .writeInt("id", id)
+        .writeString("name", "name" + id)
+        .writeInt("age", age)
+        .create();
+  }
+}
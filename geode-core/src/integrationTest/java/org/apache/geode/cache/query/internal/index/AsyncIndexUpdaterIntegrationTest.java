@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.cache.Region.SEPARATOR;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.CacheUtils;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.QueryObserverAdapter;
+import org.apache.geode.cache.query.internal.QueryObserverHolder;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.statistics.StatisticsImpl;
+import org.apache.geode.test.junit.categories.OQLIndexTest;
+
+/**
+ * Verifies the asynchronous maintenance of indexes by several updater threads, waiting for the
+ * updates and the statistics of the update queues.
+ */
+@Category({OQLIndexTest.class})
+public class AsyncIndexUpdaterIntegrationTest {
+  private static final String INDEX_NAME = "idIndex";
+  private static final String QUERY =
+      "select * from " + SEPARATOR + "portfolio p where p.ID >= 0";
+
+  private final CountDownLatch updatesReleased = new CountDownLatch(1);
+  private final Set<String> updaterThreads = ConcurrentHashMap.newKeySet();
+
+  private InternalCache cache;
+  private QueryService queryService;
+  private Region<Integer, Portfolio> region;
+  private Index index;
+  private IndexManager indexManager;
+
+  @Before
+  public void setUp() {
+    CacheUtils.startCache();
+    cache = CacheUtils.getCache();
+    queryService = cache.getQueryService();
+  }
+
+  @After
+  public void tearDown() {
+    updatesReleased.countDown();
+    IndexManager.testHook = null;
+    IndexManager.TEST_ASYNC_INDEX_UPDATER_THREADS = 0;
+    QueryObserverHolder.reset();
+    CacheUtils.closeCache();
+  }
+
+  @Test
+  public void updatesAreStripedAcrossUpdaterThreadsInEntryOrder() throws Exception {
+    createRegionWithIndex(4);
+    IndexManager.testHook = spot -> recordUpdaterThread();
+
+    for (int i = 0; i < 200; i++) {
+      region.put(i, new Portfolio(i));
+    }
+    for (int i = 0; i < 100; i++) {
+      region.put(0, new Portfolio(1000 + i));
+    }
+
+    assertThat(indexManager.waitForIndexUpdates(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+    assertThat(updaterThreads).hasSizeGreaterThan(1);
+    assertThat(index.getStatistics().getNumberOfValues()).isEqualTo(200);
+    assertThat(execute("select p.ID from " + SEPARATOR + "portfolio p where p.ID >= 1000")
+        .asList()).containsExactly(1099);
+  }
+
+  @Test
+  public void waitReturnsOnlyAfterEarlierUpdatesAreApplied() throws Exception {
+    createRegionWithIndex(2);
+    blockUpdaters();
+    putPortfolios(10);
+
+    assertThat(indexManager.waitForIndexUpdates(100, MILLISECONDS)).isFalse();
+    assertThat(index.getStatistics().getNumberOfValues()).isZero();
+
+    updatesReleased.countDown();
+
+    assertThat(indexManager.waitForIndexUpdates(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+    assertThat(index.getStatistics().getNumberOfValues()).isEqualTo(10);
+  }
+
+  @Test
+  public void statisticsShowQueuedUpdatesAndLag() throws Exception {
+    createRegionWithIndex(1);
+    blockUpdaters();
+    putPortfolios(10);
+
+    assertThat(indexManager.getAsyncUpdateQueueSize()).isEqualTo(10);
+    assertThat(sampleIndexStatistics().getLong("asyncUpdateQueueSize")).isEqualTo(10);
+
+    updatesReleased.countDown();
+    assertThat(indexManager.waitForIndexUpdates(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+
+    assertThat(indexManager.getAsyncUpdateQueueSize()).isZero();
+    assertThat(indexManager.getAsyncUpdateLag()).isPositive();
+    Statistics statistics = sampleIndexStatistics();
+    assertThat(statistics.getLong("asyncUpdateQueueSize")).isZero();
+    assertThat(statistics.getLong("asyncUpdateLag")).isPositive();
+  }
+
+  @Test
+  public void queryWaitingForIndexUpdatesUsesIndexAfterPrecedingWritesAreApplied()
+      throws Exception {
+    createRegionWithIndex(2);
+    AtomicBoolean indexUsed = new AtomicBoolean();
+    QueryObserverHolder.setInstance(new QueryObserverAdapter() {
+      @Override
+      public void beforeIndexLookup(Index usedIndex, int oper, Object key) {
+        indexUsed.set(true);
+      }
+    });
+    blockUpdaters();
+    putPortfolios(10);
+    assertThat(execute(QUERY)).isEmpty();
+
+    DefaultQuery query = (DefaultQuery) queryService.newQuery(QUERY);
+    query.setWaitForIndexUpdates(getTimeout().toMillis(), MILLISECONDS);
+    indexUsed.set(false);
+    CompletableFuture<Object> result = CompletableFuture.supplyAsync(() -> execute(query));
+    await().untilAsserted(() -> assertThat(updaterThreads).isNotEmpty());
+    assertThat(result).isNotDone();
+    updatesReleased.countDown();
+
+    assertThat(((SelectResults<?>) result.get())).hasSize(10);
+    assertThat(indexUsed).isTrue();
+  }
+
+  @Test
+  public void queryTimingOutWaitingForIndexUpdatesEvaluatesEntries() throws Exception {
+    createRegionWithIndex(2);
+    blockUpdaters();
+    putPortfolios(10);
+
+    DefaultQuery query = (DefaultQuery) queryService.newQuery(QUERY);
+    query.setWaitForIndexUpdates(100, MILLISECONDS);
+
+    assertThat((SelectResults<?>) query.execute()).hasSize(10);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void createRegionWithIndex(int updaterThreads) throws Exception {
+    IndexManager.TEST_ASYNC_INDEX_UPDATER_THREADS = updaterThreads;
+    region = CacheUtils.createRegion("portfolio", Portfolio.class, false);
+    index = queryService.createIndex(INDEX_NAME, "p.ID", SEPARATOR + "portfolio p");
+    indexManager = ((LocalRegion) region).getIndexManager();
+  }
+
+  private void putPortfolios(int count) {
+    for (int i = 0; i < count; i++) {
+      region.put(i, new Portfolio(i));
+    }
+  }
+
+  private void blockUpdaters() {
+    IndexManager.testHook = spot -> {
+      if (recordUpdaterThread()) {
+        try {
+          updatesReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+  }
+
+  private boolean recordUpdaterThread() {
+    String threadName = Thread.currentThread().getName();
+    if (!threadName.startsWith("OqlIndexUpdater")) {
+      return false;
+    }
+    updaterThreads.add(threadName);
+    return true;
+  }
+
+  private SelectResults<?> execute(String queryString) throws Exception {
+    return (SelectResults<?>) queryService.newQuery(queryString).execute();
+  }
+
+  private Object execute(DefaultQuery query) {
+    try {
+      return query.execute();
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private Statistics sampleIndexStatistics() {
+    Statistics[] statistics =
+        cache.getInternalDistributedSystem().findStatisticsByTextId(INDEX_NAME);
+    assertThat(statistics).hasSize(1);
+    ((StatisticsImpl) statistics[0]).updateSuppliedValues();
+    return statistics[0];
+  }
+}
@@ -16,6 +16,7 @@ package org.apache.geode.cache.query.internal.index;
 
 import static org.apache.geode.cache.Region.SEPARATOR;
 import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -45,6 +46,7 @@ import org.apache.geode.cache.query.data.Portfolio;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.DefaultQuery.TestHook;
 import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
 import org.apache.geode.internal.cache.persistence.query.CloseableIterator;
 import org.apache.geode.test.junit.categories.OQLIndexTest;
 import org.apache.geode.util.internal.UncheckedUtils;
@@ -625,6 +627,28 @@ public class CompactRangeIndexJUnitTest {
     return results;
   }
 
+  @Test
+  public void rangeEstimateUsesHistogramBuiltInTheBackground() throws Exception {
+    index = utils.createIndex("idIndex", "p.ID", SEPARATOR + "exampleRegion p");
+    Region region = utils.getRegion("exampleRegion");
+    // 1900 of the 2000 ids are below 100, so interpolating between the smallest and the largest
+    // id underestimates a condition on them by far
+    for (int i = 0; i < 2000; i++) {
+      int id = i < 1900 ? i / 19 : 100 + i * 1000;
+      region.put("KEY-" + i, new Portfolio(id));
+    }
+    CompactRangeIndex compactRangeIndex = (CompactRangeIndex) index;
+
+    compactRangeIndex.getSizeEstimate(100, OQLLexerTokenTypes.TOK_LT, 0);
+    await().until(() -> compactRangeIndex.getHistogramForTesting() != null);
+
+    assertThat(compactRangeIndex.getHistogramForTesting().getTotal()).isEqualTo(2000);
+    assertThat(compactRangeIndex.getSizeEstimate(100, OQLLexerTokenTypes.TOK_LT, 0))
+        .isBetween(1800, 2000);
+    assertThat(compactRangeIndex.getSizeEstimate(100, OQLLexerTokenTypes.TOK_GT, 0))
+        .isBetween(0, 200);
+  }
+
   @After
   public void tearDown() throws Exception {
     IndexManager.INDEX_ELEMARRAY_THRESHOLD_FOR_TESTING = -1;
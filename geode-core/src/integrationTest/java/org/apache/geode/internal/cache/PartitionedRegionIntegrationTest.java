@@ -15,16 +15,25 @@
 
 package org.apache.geode.internal.cache;
 
+import static org.apache.geode.cache.Region.SEPARATOR;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 
 import org.apache.geode.cache.EvictionAction;
 import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.PartitionAttributesFactory;
 import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.cache.query.internal.index.PartitionedIndex;
 import org.apache.geode.test.junit.rules.ServerStarterRule;
 
 public class PartitionedRegionIntegrationTest {
@@ -32,6 +41,11 @@ public class PartitionedRegionIntegrationTest {
   @Rule
   public ServerStarterRule server = new ServerStarterRule().withNoCacheServer().withAutoStart();
 
+  @After
+  public void tearDown() {
+    PartitionedRegion.TEST_INDEX_POPULATION_THREADS = 0;
+  }
+
   @Test
   public void bucketSorterShutdownAfterRegionDestroy() {
     PartitionedRegion region =
@@ -55,4 +69,49 @@ public class PartitionedRegionIntegrationTest {
     ScheduledExecutorService bucketSorter = region.getBucketSorter();
     assertThat(bucketSorter).isNull();
   }
+
+  @Test
+  public void definedIndexesArePopulatedInEveryBucketInParallel() throws Exception {
+    PartitionedRegion.TEST_INDEX_POPULATION_THREADS = 4;
+
+    verifyDefinedIndexesArePopulatedInEveryBucket();
+  }
+
+  @Test
+  public void definedIndexesArePopulatedInEveryBucketSequentially() throws Exception {
+    PartitionedRegion.TEST_INDEX_POPULATION_THREADS = 1;
+
+    verifyDefinedIndexesArePopulatedInEveryBucket();
+  }
+
+  private void verifyDefinedIndexesArePopulatedInEveryBucket() throws Exception {
+    PartitionedRegion region =
+        (PartitionedRegion) server.<Integer, Portfolio>createRegion(RegionShortcut.PARTITION,
+            "PR1", f -> f.setPartitionAttributes(
+                new PartitionAttributesFactory<Integer, Portfolio>().setTotalNumBuckets(13)
+                    .create()));
+    for (int i = 0; i < 100; i++) {
+      region.put(i, new Portfolio(i));
+    }
+    int bucketCount = region.getDataStore().getAllLocalBuckets().size();
+    assertThat(bucketCount).isEqualTo(13);
+
+    QueryService queryService = server.getCache().getQueryService();
+    queryService.defineIndex("idIndex", "p.ID", SEPARATOR + "PR1 p");
+    queryService.defineIndex("statusIndex", "p.status", SEPARATOR + "PR1 p");
+    List<Index> indexes = queryService.createDefinedIndexes();
+
+    assertThat(indexes).hasSize(2);
+    for (Index index : indexes) {
+      assertThat(((PartitionedIndex) index).getNumberOfIndexedBuckets()).isEqualTo(bucketCount);
+      assertThat(index.getStatistics().getNumberOfValues()).isEqualTo(100);
+    }
+    SelectResults<Portfolio> lowIds = (SelectResults<Portfolio>) queryService
+        .newQuery("select * from " + SEPARATOR + "PR1 p where p.ID < 10").execute();
+    assertThat(lowIds).extracting(portfolio -> portfolio.ID)
+        .containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    SelectResults<Portfolio> active = (SelectResults<Portfolio>) queryService
+        .newQuery("select * from " + SEPARATOR + "PR1 p where p.status = 'active'").execute();
+    assertThat(active).hasSize(50).allMatch(portfolio -> portfolio.ID % 2 == 0);
+  }
 }
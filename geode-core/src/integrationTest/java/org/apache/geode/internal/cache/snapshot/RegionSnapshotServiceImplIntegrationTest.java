@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.snapshot;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.snapshot.SnapshotOptions;
+import org.apache.geode.cache.snapshot.SnapshotOptions.SnapshotFormat;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.test.junit.categories.SnapshotTest;
+
+/**
+ * Verifies importing several snapshot files of a region concurrently.
+ */
+@Category({SnapshotTest.class})
+public class RegionSnapshotServiceImplIntegrationTest {
+  // enough entries per file for more than one putAll batch of BUFFER_SIZE bytes
+  private static final int ENTRIES_PER_FILE = 600;
+  private static final int VALUE_SIZE = 4 * 1024;
+  private static final int PUT_ALL_PERMITS = 2;
+  private static final int FILE_CONCURRENCY = 3;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Cache cache;
+  private Region<Integer, byte[]> region;
+  private RegionSnapshotServiceImpl<Integer, byte[]> snapshotService;
+
+  @Before
+  public void setUp() {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.REPLICATE)
+        .create("snapshots");
+    snapshotService = (RegionSnapshotServiceImpl<Integer, byte[]>) region.getSnapshotService();
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void importsFilesConcurrentlyThroughFilter() throws Exception {
+    File[] snapshots = exportSnapshots(4);
+    SnapshotOptions<Integer, byte[]> options =
+        snapshotService.createOptions().setFilter(entry -> entry.getKey() % 2 == 0);
+    Semaphore putAllPermits = new Semaphore(PUT_ALL_PERMITS);
+
+    snapshotService.importSnapshotFiles(snapshots, options, (LocalRegion) region, putAllPermits,
+        FILE_CONCURRENCY);
+
+    assertThat(region.keySet()).containsExactlyInAnyOrderElementsOf(evenKeys(0, 4));
+    assertThat(region.get(ENTRIES_PER_FILE + 2)).isEqualTo(value(ENTRIES_PER_FILE + 2));
+    assertThat(putAllPermits.availablePermits()).isEqualTo(PUT_ALL_PERMITS);
+  }
+
+  @Test
+  public void releasesPermitsOfFailedFile() throws Exception {
+    File[] snapshots = exportSnapshots(3);
+    // fails the second file at its last entry, after some of its batches were handed off
+    AtomicInteger secondFileEntries = new AtomicInteger();
+    SnapshotOptions<Integer, byte[]> options = snapshotService.createOptions().setFilter(entry -> {
+      int key = entry.getKey();
+      if (key >= ENTRIES_PER_FILE && key < 2 * ENTRIES_PER_FILE
+          && secondFileEntries.incrementAndGet() == ENTRIES_PER_FILE) {
+        throw new IllegalStateException("failing entry " + key);
+      }
+      return key % 2 == 0;
+    });
+    Semaphore putAllPermits = new Semaphore(PUT_ALL_PERMITS);
+
+    assertThatThrownBy(() -> snapshotService.importSnapshotFiles(snapshots, options,
+        (LocalRegion) region, putAllPermits, FILE_CONCURRENCY))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageStartingWith("failing entry");
+
+    assertThat(putAllPermits.availablePermits()).isEqualTo(PUT_ALL_PERMITS);
+    assertThat(region.keySet()).containsAll(evenKeys(0, 1)).containsAll(evenKeys(2, 3));
+  }
+
+  /**
+   * Exports the given number of snapshot files, each holding the next ENTRIES_PER_FILE keys, and
+   * leaves the region empty.
+   */
+  private File[] exportSnapshots(int files) throws Exception {
+    File[] snapshots = new File[files];
+    for (int file = 0; file < files; file++) {
+      for (int key = file * ENTRIES_PER_FILE; key < (file + 1) * ENTRIES_PER_FILE; key++) {
+        region.put(key, value(key));
+      }
+      snapshots[file] = new File(temporaryFolder.getRoot(), "snapshot-" + file + ".gfd");
+      snapshotService.save(snapshots[file], SnapshotFormat.GEODE);
+      region.clear();
+    }
+    return snapshots;
+  }
+
+  private static List<Integer> evenKeys(int fromFile, int toFile) {
+    List<Integer> keys = new ArrayList<>();
+    for (int key = fromFile * ENTRIES_PER_FILE; key < toFile * ENTRIES_PER_FILE; key += 2) {
+      keys.add(key);
+    }
+    return keys;
+  }
+
+  private static byte[] value(int key) {
+    byte[] value = new byte[VALUE_SIZE];
+    Arrays.fill(value, (byte) key);
+    return value;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.SelectResults;
+
+/**
+ * Runs full scan queries whose predicate and projection read domain object attributes, once with
+ * reflective attribute access and once with method handles.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class AttributeAccessQueryBenchmark {
+  private static final int ENTRIES = 100_000;
+
+  @Param({"false", "true"})
+  public boolean useMethodHandles;
+
+  private Cache cache;
+  private Query predicateQuery;
+  private Query projectionQuery;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    AttributeDescriptor.useMethodHandles = useMethodHandles;
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    Region<Integer, Trade> region =
+        cache.<Integer, Trade>createRegionFactory(RegionShortcut.LOCAL).create("trades");
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, new Trade(i, "SYM" + (i % 100), i % 1000));
+    }
+    predicateQuery = cache.getQueryService()
+        .newQuery("SELECT * FROM /trades t WHERE t.price > 500 AND t.symbol = 'SYM7'");
+    projectionQuery = cache.getQueryService()
+        .newQuery("SELECT t.id, t.price FROM /trades t WHERE t.quantity < 10");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+    AttributeDescriptor.useMethodHandles = false;
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public SelectResults<?> predicate() throws Exception {
+    return (SelectResults<?>) predicateQuery.execute();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public SelectResults<?> projection() throws Exception {
+    return (SelectResults<?>) projectionQuery.execute();
+  }
+
+  public static class Trade {
+    private final int id;
+    private final String symbol;
+    private final double price;
+    public final int quantity;
+
+    Trade(int id, String symbol, double price) {
+      this.id = id;
+      this.symbol = symbol;
+      this.price = price;
+      this.quantity = id % 100;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public String getSymbol() {
+      return symbol;
+    }
+
+    public double getPrice() {
+      return price;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+/**
+ * Measures the cost of the region entry map itself: lookups go straight to the {@link RegionMap}
+ * so region level overhead (events, callbacks, statistics) is excluded. The key type selects the
+ * key-specialized region entry classes.
+ * <p>
+ * The heap retained per entry is measured once per trial, while the region is populated, and
+ * printed when the trial ends so the footprint of an alternate {@link RegionMap} implementation
+ * can be compared with the existing one. It is not a JMH result, since JMH would normalize it by
+ * time and sum it over threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class RegionMapBenchmark {
+  private static final int ENTRIES = 1_000_000;
+
+  @Param({"INT", "LONG", "STRING", "UUID"})
+  public KeyType keyType;
+
+  @Param({"LOCAL", "LOCAL_HEAP_LRU"})
+  public RegionShortcut shortcut;
+
+  private Cache cache;
+  private RegionMap regionMap;
+  private Object[] keys;
+  private long retainedBytesPerEntry;
+
+  public enum KeyType {
+    INT(i -> i),
+    LONG(i -> (long) i),
+    STRING(i -> "key-" + i),
+    UUID(i -> new UUID(i, i));
+
+    private final IntFunction<Object> keyFactory;
+
+    KeyType(IntFunction<Object> keyFactory) {
+      this.keyFactory = keyFactory;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    Region<Object, Object> region =
+        cache.createRegionFactory(shortcut).create("testRegion");
+    keys = new Object[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = keyType.keyFactory.apply(i);
+    }
+
+    long before = usedHeapAfterGC();
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(keys[i], Boolean.TRUE);
+    }
+    long after = usedHeapAfterGC();
+    retainedBytesPerEntry = (after - before) / ENTRIES;
+
+    regionMap = ((LocalRegion) region).getRegionMap();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.out.println(String.format("Retained bytes per entry for %s keys in a %s region: %d",
+        keyType, shortcut, retainedBytesPerEntry));
+    cache.close();
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    Random random = new Random();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public RegionEntry getEntry(ThreadState state) {
+    return regionMap.getEntry(keys[state.random.nextInt(ENTRIES)]);
+  }
+
+  private static long usedHeapAfterGC() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
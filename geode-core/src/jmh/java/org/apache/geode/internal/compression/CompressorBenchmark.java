@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.compression.SnappyCompressor;
+
+/**
+ * Compares the throughput and the compression ratio of the {@link Compressor} implementations on
+ * small, similar region values. The ratio is reported as the compressedBytes and
+ * uncompressedBytes counters of the compress benchmark.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Measurement(iterations = 5)
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompressorBenchmark {
+  private static final int VALUES = 1024;
+
+  @Param({"snappy", "deflate", "deflate-dictionary"})
+  public String compressorName;
+
+  private Compressor compressor;
+  private byte[][] values;
+  private byte[][] compressedValues;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    values = new byte[VALUES][];
+    for (int i = 0; i < VALUES; i++) {
+      values[i] = ("{\"id\":" + i + ",\"status\":\"" + (i % 3 == 0 ? "active" : "closed")
+          + "\",\"region\":\"EU\",\"owner\":\"user" + (i % 17) + "\",\"amount\":" + (i * 31 % 997)
+          + "}").getBytes(UTF_8);
+    }
+
+    switch (compressorName) {
+      case "snappy":
+        compressor = new SnappyCompressor();
+        break;
+      case "deflate":
+        compressor = new DeflateCompressor();
+        break;
+      case "deflate-dictionary":
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < VALUES; i += 16) {
+          samples.add(values[i]);
+        }
+        compressor = new DeflateCompressor(Deflater.BEST_SPEED,
+            DeflateCompressor.trainDictionary(samples, DeflateCompressor.MAX_DICTIONARY_SIZE));
+        break;
+      default:
+        throw new IllegalArgumentException(compressorName);
+    }
+
+    compressedValues = new byte[VALUES][];
+    for (int i = 0; i < VALUES; i++) {
+      compressedValues[i] = compressor.compress(values[i]);
+    }
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Sizes {
+    public long uncompressedBytes;
+    public long compressedBytes;
+  }
+
+  @Benchmark
+  public byte[] compress(Sizes sizes) {
+    byte[] value = values[next++ & (VALUES - 1)];
+    byte[] compressed = compressor.compress(value);
+    sizes.uncompressedBytes += value.length;
+    sizes.compressedBytes += compressed.length;
+    return compressed;
+  }
+
+  @Benchmark
+  public byte[] decompress() {
+    return compressor.decompress(compressedValues[next++ & (VALUES - 1)]);
+  }
+}
@@ -17,6 +17,7 @@ package org.apache.geode.cache.client.internal;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -188,10 +189,21 @@ public abstract class AbstractOp implements Op {
    * @throws Exception if the execute failed
    */
   protected Object attemptReadResponse(Connection cnx) throws Exception {
+    return attemptReadResponse(cnx, cnx.getCommBuffer());
+  }
+
+  /**
+   * Like {@link #attemptReadResponse(Connection)}, but reads the response with the given buffer.
+   * Reading with a buffer other than the comm buffer lets other threads send on the connection
+   * while the response is being read.
+   *
+   * @since Geode 1.15
+   */
+  Object attemptReadResponse(Connection cnx, ByteBuffer commBuffer) throws Exception {
     Message msg = createResponseMessage();
     if (msg != null) {
       msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
-          cnx.getCommBuffer(), cnx.getStats());
+          commBuffer, cnx.getStats());
       if (msg instanceof ChunkedMessage) {
         try {
           return processResponse(msg, cnx);
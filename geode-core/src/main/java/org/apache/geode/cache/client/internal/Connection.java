@@ -42,6 +42,15 @@ public interface Connection {
 
   ByteBuffer getCommBuffer() throws SocketException;
 
+  /**
+   * Returns a buffer for a thread that reads responses while other threads send requests with
+   * {@link #getCommBuffer()}. Messages synchronize on the buffer they use, so the reader must not
+   * share the comm buffer with the senders.
+   *
+   * @since Geode 1.15
+   */
+  ByteBuffer getCommBufferForAsyncRead() throws SocketException;
+
   ConnectionStats getStats();
 
   boolean isActive();
@@ -62,7 +62,11 @@ public class ConnectionImpl implements Connection {
 
   private Socket theSocket;
   private ByteBuffer commBuffer;
+  /**
+   * Guarded by asyncReadBufferLock once the connection is connected.
+   */
   private ByteBuffer commBufferForAsyncRead;
+  private final Object asyncReadBufferLock = new Object();
   private ServerQueueStatus status;
   private volatile boolean connectFinished;
   private final AtomicBoolean destroyed = new AtomicBoolean();
@@ -196,9 +200,11 @@ public class ConnectionImpl implements Connection {
       commBuffer = null;
       ServerConnection.releaseCommBuffer(bb);
     }
-    bb = commBufferForAsyncRead;
-    if (bb != null) {
+    synchronized (asyncReadBufferLock) {
+      bb = commBufferForAsyncRead;
       commBufferForAsyncRead = null;
+    }
+    if (bb != null) {
       ServerConnection.releaseCommBuffer(bb);
     }
   }
@@ -336,6 +342,11 @@ public class ConnectionImpl implements Connection {
     TEST_DURABLE_CLIENT_CRASH = v;
   }
 
+  /**
+   * Gateway sender connections allocate this buffer when they connect. Other connections allocate
+   * it the first time it is asked for, which is done by the one thread reading from them.
+   */
+  @Override
   public ByteBuffer getCommBufferForAsyncRead() throws SocketException {
     if (isDestroyed()) {
       // see bug 52193. Since the code used to see this
@@ -343,7 +354,19 @@ public class ConnectionImpl implements Connection {
       // a SocketException.
       throw new SocketException("socket was closed");
     }
-    return commBufferForAsyncRead;
+    synchronized (asyncReadBufferLock) {
+      // checked again under the lock so that a buffer allocated here is always released by destroy
+      ByteBuffer bb = commBuffer;
+      if (isDestroyed() || bb == null) {
+        throw new SocketException("socket was closed");
+      }
+      ByteBuffer result = commBufferForAsyncRead;
+      if (result == null) {
+        result = ServerConnection.allocateCommBuffer(bb.capacity(), theSocket);
+        commBufferForAsyncRead = result;
+      }
+      return result;
+    }
   }
 
   private void verifySocketBufferSize(int requestedBufferSize, int actualBufferSize, String type) {
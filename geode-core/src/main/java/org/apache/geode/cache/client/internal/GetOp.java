@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.CacheClosedException;
@@ -91,6 +93,29 @@ public class GetOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region get on a server without waiting for the response. The request is pipelined over
+   * one of the pool's pipelined connections and is not routed to the primary bucket server even
+   * if single hop is enabled.
+   *
+   * @param pool the pool to use to communicate with the server.
+   * @param region the region to do the get on
+   * @param key the entry key to do the get on
+   * @param callbackArg an optional callback arg to pass to any cache callbacks
+   * @param clientEvent holder for returning version information
+   * @return a future completed with the entry value found by the get if any
+   * @see PoolImpl#executeAsync(AbstractOp)
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object callbackArg, EntryEventImpl clientEvent) {
+    GetOpImpl op =
+        new GetOpImpl(region, key, callbackArg, pool.getPRSingleHopEnabled(), clientEvent);
+    if (logger.isDebugEnabled()) {
+      logger.debug("GetOp invoked asynchronously for key {}", key);
+    }
+    return pool.executeAsync(op);
+  }
+
 
   private GetOp() {
     // no instances allowed
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.logging.internal.executors.LoggingThread;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Pipelines many operations over a single client to server connection. Callers write their
+ * request as soon as the connection is free for writing and get back a future. A single reader
+ * thread consumes the responses and completes the futures.
+ * <p>
+ * A ServerConnection reads, processes and replies to the messages of a connection one at a time,
+ * so responses always arrive in the order the requests were sent. The reader therefore matches a
+ * response to the oldest outstanding operation. The number of outstanding operations is bounded;
+ * a caller blocks in {@link #submit(AbstractOp)} while the pipeline is full.
+ * <p>
+ * Requests are written with the connection's comm buffer and responses are read with its
+ * {@link Connection#getCommBufferForAsyncRead() async read buffer}, since a message holds the
+ * lock of its buffer while it is sent or received and the reader is blocked receiving most of the
+ * time. Responses are read with {@link AbstractOp#attemptReadResponse(Connection, ByteBuffer)},
+ * so ops that override {@link AbstractOp#attemptReadResponse(Connection)} cannot be pipelined.
+ * <p>
+ * If the connection breaks, every outstanding operation is completed exceptionally and the
+ * pipeline is closed. Operations are never retried by the pipeline. Closing only closes the socket;
+ * the reader thread destroys the connection, which releases its buffers, and hands it back to the
+ * connection manager once it no longer reads from it.
+ *
+ * @see PipelinedOpExecutor
+ */
+class PipelinedConnection {
+  private static final Logger logger = LogService.getLogger();
+
+  private final Connection connection;
+  private final Connection wrappedConnection;
+  private final ConnectionManager connectionManager;
+  private final BlockingQueue<PendingOp> inFlight;
+  private final Object sendLock = new Object();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final Thread responseReader;
+
+  /**
+   * @param connection the connection to pipeline operations on. The caller must have exclusive
+   *        use of it until the pipeline is closed.
+   * @param connectionManager the manager the connection was borrowed from. The connection is
+   *        destroyed and handed back to it by the reader thread once the pipeline is closed.
+   * @param maxInFlight the maximum number of operations sent but not yet answered
+   */
+  PipelinedConnection(Connection connection, ConnectionManager connectionManager,
+      int maxInFlight) {
+    this.connection = connection;
+    wrappedConnection = connection.getWrappedConnection();
+    this.connectionManager = connectionManager;
+    inFlight = new ArrayBlockingQueue<>(maxInFlight);
+    responseReader = new LoggingThread(
+        "PipelinedConnection reader for " + connection.getServer(), this::readResponses);
+  }
+
+  void start() {
+    responseReader.start();
+  }
+
+  Connection getConnection() {
+    return connection;
+  }
+
+  boolean isClosed() {
+    return closed.get();
+  }
+
+  int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * Sends the given op on this pipeline.
+   *
+   * @return a future completed with the result of the op once its response has been read
+   */
+  CompletableFuture<Object> submit(AbstractOp op) {
+    PendingOp pending = new PendingOp(op);
+    synchronized (sendLock) {
+      if (closed.get()) {
+        pending.fail(new ServerConnectivityException(
+            "Pipelined connection to " + connection.getServer() + " is closed"));
+        return pending.future;
+      }
+      pending.start = op.startAttempt(wrappedConnection.getStats());
+      op.failed = false;
+      op.timedOut = false;
+      try {
+        inFlight.put(pending);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        op.failed = true;
+        op.endAttempt(wrappedConnection.getStats(), pending.start);
+        pending.fail(new ServerConnectivityException("Interrupted while waiting to send", e));
+        return pending.future;
+      }
+      try {
+        op.attemptSend(wrappedConnection);
+      } catch (Exception e) {
+        op.failed = true;
+        op.endSendAttempt(wrappedConnection.getStats(), pending.start);
+        close(e);
+        return pending.future;
+      }
+      op.endSendAttempt(wrappedConnection.getStats(), pending.start);
+    }
+    if (closed.get()) {
+      // the pipeline was closed while we were sending; make sure nothing is left behind
+      failInFlight(new ServerConnectivityException(
+          "Pipelined connection to " + connection.getServer() + " is closed"));
+    }
+    return pending.future;
+  }
+
+  /**
+   * Closes this pipeline. Outstanding operations are completed exceptionally with a
+   * {@link ServerConnectivityException} caused by the given exception, if any.
+   *
+   * @return true if this call closed the pipeline, false if it was already closed
+   */
+  boolean close(Exception cause) {
+    if (!closed.compareAndSet(false, true)) {
+      return false;
+    }
+    if (cause != null && logger.isDebugEnabled()) {
+      logger.debug("Closing pipelined connection to {}", connection.getServer(), cause);
+    }
+    // Closing the socket unblocks the reader if it is waiting for a response. The connection is
+    // not destroyed here since that releases the buffer the reader may still be reading into.
+    try {
+      wrappedConnection.getSocket().close();
+    } catch (IOException | RuntimeException ignore) {
+      // the reader still destroys the connection
+    }
+    responseReader.interrupt();
+    failInFlight(new ServerConnectivityException(
+        "Pipelined connection to " + connection.getServer() + " was closed", cause));
+    return true;
+  }
+
+  private void failInFlight(ServerConnectivityException exception) {
+    List<PendingOp> abandoned = new ArrayList<>();
+    inFlight.drainTo(abandoned);
+    for (PendingOp pending : abandoned) {
+      pending.fail(exception);
+    }
+  }
+
+  private void readResponses() {
+    try {
+      ByteBuffer readBuffer = wrappedConnection.getCommBufferForAsyncRead();
+      while (!closed.get()) {
+        PendingOp pending = inFlight.take();
+        if (!readResponse(pending, readBuffer)) {
+          return;
+        }
+      }
+    } catch (InterruptedException ignore) {
+      // closed
+    } catch (IOException e) {
+      close(e);
+    } finally {
+      close(null);
+      releaseConnection();
+    }
+  }
+
+  /**
+   * Destroys the connection and hands it back to the connection manager. Only called by the reader
+   * thread once it stopped reading, while no sender can be writing with the connection's buffer.
+   */
+  private void releaseConnection() {
+    synchronized (sendLock) {
+      connection.destroy();
+    }
+    connectionManager.returnConnection(connection);
+  }
+
+  /**
+   * Reads the response of the given op and completes its future.
+   *
+   * @return false if the connection can no longer be used
+   */
+  private boolean readResponse(PendingOp pending, ByteBuffer readBuffer) {
+    AbstractOp op = pending.op;
+    try {
+      Object result = op.attemptReadResponse(wrappedConnection, readBuffer);
+      op.endAttempt(wrappedConnection.getStats(), pending.start);
+      pending.complete(result);
+      return true;
+    } catch (Exception e) {
+      if (e instanceof SocketTimeoutException) {
+        op.timedOut = true;
+      } else {
+        op.failed = true;
+      }
+      op.endAttempt(wrappedConnection.getStats(), pending.start);
+      if (isConnectionBroken(e)) {
+        pending.fail(new ServerConnectivityException(
+            "Pipelined connection to " + connection.getServer() + " failed", e));
+        close(e);
+        return false;
+      }
+      // the whole response was consumed, so the next one can still be read
+      pending.fail(e);
+      return true;
+    }
+  }
+
+  private static boolean isConnectionBroken(Exception e) {
+    if (e instanceof ServerOperationException) {
+      return false;
+    }
+    return e instanceof IOException || e instanceof ServerConnectivityException;
+  }
+
+  private static class PendingOp {
+    private final AbstractOp op;
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+    private long start;
+
+    PendingOp(AbstractOp op) {
+      this.op = op;
+    }
+
+    void complete(Object result) {
+      future.complete(result);
+    }
+
+    void fail(Throwable t) {
+      future.completeExceptionally(t);
+    }
+  }
+}
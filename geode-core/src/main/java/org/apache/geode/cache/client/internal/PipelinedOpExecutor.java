@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.PoolCancelledException;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Executes ops asynchronously by spreading them over a small, fixed number of
+ * {@link PipelinedConnection}s. Each pipelined connection is borrowed from the pool's
+ * {@link ConnectionManager} for as long as it is healthy, so it counts towards the pool's
+ * max-connections. A pipeline whose connection fails is replaced the next time its slot is used.
+ *
+ * @since Geode 1.15
+ */
+class PipelinedOpExecutor {
+  static final int PIPELINED_CONNECTIONS = Integer
+      .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.PIPELINED_CONNECTIONS", 2);
+  static final int MAX_PIPELINED_OPS = Integer
+      .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.MAX_PIPELINED_OPS", 1000);
+
+  private final ConnectionManager connectionManager;
+  private final long acquireTimeout;
+  private final int maxInFlight;
+  private final PipelinedConnection[] pipelines;
+  private final AtomicInteger nextPipeline = new AtomicInteger();
+  private boolean closed;
+
+  PipelinedOpExecutor(ConnectionManager connectionManager, long acquireTimeout) {
+    this(connectionManager, acquireTimeout, PIPELINED_CONNECTIONS, MAX_PIPELINED_OPS);
+  }
+
+  PipelinedOpExecutor(ConnectionManager connectionManager, long acquireTimeout,
+      int pipelineCount, int maxInFlight) {
+    this.connectionManager = connectionManager;
+    this.acquireTimeout = acquireTimeout;
+    this.maxInFlight = maxInFlight;
+    pipelines = new PipelinedConnection[Math.max(1, pipelineCount)];
+  }
+
+  /**
+   * Sends the given op on one of the pipelined connections.
+   *
+   * @return a future completed with the result of the op, or exceptionally if the op failed or no
+   *         connection could be obtained
+   */
+  CompletableFuture<Object> execute(AbstractOp op) {
+    PipelinedConnection pipeline;
+    try {
+      pipeline = getPipeline();
+    } catch (RuntimeException e) {
+      CompletableFuture<Object> result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+      return result;
+    }
+    return pipeline.submit(op);
+  }
+
+  private PipelinedConnection getPipeline() {
+    int slot = Math.floorMod(nextPipeline.getAndIncrement(), pipelines.length);
+    synchronized (pipelines) {
+      if (closed) {
+        throw new PoolCancelledException("Pool is shutting down");
+      }
+      PipelinedConnection pipeline = pipelines[slot];
+      if (pipeline == null || pipeline.isClosed()) {
+        pipeline = new PipelinedConnection(connectionManager.borrowConnection(acquireTimeout),
+            connectionManager, maxInFlight);
+        pipeline.start();
+        pipelines[slot] = pipeline;
+      }
+      return pipeline;
+    }
+  }
+
+  /**
+   * Closes all pipelined connections. Ops still waiting for a response complete exceptionally.
+   */
+  void close() {
+    synchronized (pipelines) {
+      closed = true;
+      for (int i = 0; i < pipelines.length; i++) {
+        if (pipelines[i] != null) {
+          pipelines[i].close(null);
+          pipelines[i] = null;
+        }
+      }
+    }
+  }
+}
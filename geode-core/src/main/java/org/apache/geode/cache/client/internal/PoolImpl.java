@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -64,6 +65,7 @@ import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.PoolFactoryImpl;
 import org.apache.geode.internal.cache.PoolManagerImpl;
 import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.logging.CoreLoggingExecutors;
 import org.apache.geode.internal.logging.InternalLogWriter;
@@ -139,6 +141,7 @@ public class PoolImpl implements InternalPool {
   private final PoolStats stats;
   private ScheduledExecutorService backgroundProcessor;
   private final OpExecutorImpl executor;
+  private final PipelinedOpExecutor pipelinedExecutor;
   private final RegisterInterestTracker riTracker = new RegisterInterestTracker();
   private final InternalDistributedSystem distributedSystem;
   private InternalCache cache;
@@ -283,6 +286,7 @@ public class PoolImpl implements InternalPool {
     // an exception, by passing in the poolOrCache stopper
     executor = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, retryAttempts,
         freeConnectionTimeout, serverConnectionTimeout, new PoolOrCacheStopper(), this);
+    pipelinedExecutor = new PipelinedOpExecutor(manager, freeConnectionTimeout);
     if (multiuserSecureModeEnabled) {
       proxyCacheList = new ArrayList<>();
     } else {
@@ -629,6 +633,12 @@ public class PoolImpl implements InternalPool {
             e);
       }
 
+      try {
+        pipelinedExecutor.close();
+      } catch (RuntimeException e) {
+        logger.error("Error encountered while stopping pipelined connections.", e);
+      }
+
       try {
         if (manager != null) {
           manager.close(keepAlive);
@@ -812,6 +822,33 @@ public class PoolImpl implements InternalPool {
     return executor.execute(op, retries);
   }
 
+  /**
+   * Execute the given op without waiting for its response. The op is pipelined with ops from other
+   * threads over a small number of connections, so many ops can be outstanding without a thread
+   * or connection per op. Unlike {@link #execute(Op)} the op is not retried on another server if
+   * the connection fails; the returned future completes exceptionally instead.
+   * <p>
+   * Ops that depend on per-thread state (transactions, server affinity and multiuser
+   * authentication) are executed synchronously and a completed future is returned.
+   *
+   * @param op the operation to execute
+   * @return a future completed with the result of execution if any; null if not
+   * @since Geode 1.15
+   */
+  public CompletableFuture<Object> executeAsync(AbstractOp op) {
+    if (multiuserSecureModeEnabled || TXManagerImpl.getCurrentTXUniqueId() != TXManagerImpl.NOTX
+        || executor.getServerAffinityLocation() != null) {
+      CompletableFuture<Object> result = new CompletableFuture<>();
+      try {
+        result.complete(execute(op));
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+      return result;
+    }
+    return pipelinedExecutor.execute(op);
+  }
+
   /**
    * Execute the given op on the given server.
    *
@@ -15,6 +15,7 @@
 
 package org.apache.geode.cache.client.internal;
 
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.Logger;
 
@@ -128,6 +129,30 @@ public class PutOp {
     pool.executeOn(con, op);
   }
 
+  /**
+   * Does a region put on a server without waiting for the response. The request is pipelined over
+   * one of the pool's pipelined connections and is not routed to the primary bucket server even
+   * if single hop is enabled.
+   *
+   * @param pool the pool to use to communicate with the server.
+   * @param region the region to do the put on
+   * @param key the entry key to do the put on
+   * @param value the entry value to put
+   * @param deltaBytes the delta to send instead of the full value, if any
+   * @param event the event for this put
+   * @param operation the operation to report for this put
+   * @param callbackArg an optional callback arg to pass to any cache callbacks
+   * @return a future completed with the result of the put
+   * @see PoolImpl#executeAsync(AbstractOp)
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object value, byte[] deltaBytes, EntryEventImpl event, Operation operation,
+      Object callbackArg) {
+    PutOpImpl op = new PutOpImpl(region, key, value, deltaBytes, event, operation, false, null,
+        callbackArg, false/* donot send full obj; send delta */, pool.getPRSingleHopEnabled());
+    return pool.executeAsync(op);
+  }
+
   public static final byte HAS_OLD_VALUE_FLAG = 0x01;
   public static final byte OLD_VALUE_IS_OBJECT_FLAG = 0x02;
   public static final byte HAS_VERSION_TAG = 0x04;
@@ -136,6 +136,11 @@ public class QueueConnectionImpl implements Connection {
     return getConnection().getCommBuffer();
   }
 
+  @Override
+  public ByteBuffer getCommBufferForAsyncRead() throws SocketException {
+    return getConnection().getCommBufferForAsyncRead();
+  }
+
   @Override
   public Endpoint getEndpoint() {
     return this.endpoint;
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.apache.logging.log4j.Logger;
@@ -115,6 +116,32 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
         pool.getPRSingleHopEnabled(), clientEvent);
   }
 
+  /**
+   * Does a get on the server without blocking the calling thread.
+   *
+   * @return a future completed with the value found by the get, if any
+   * @see PoolImpl#executeAsync(AbstractOp)
+   */
+  public CompletableFuture<Object> getAsync(Object key, Object callbackArg,
+      EntryEventImpl clientEvent) {
+    recordTXOperation(ServerRegionOperation.GET, key, callbackArg);
+    return GetOp.executeAsync((PoolImpl) pool, region, key, callbackArg, clientEvent);
+  }
+
+  /**
+   * Does a put on the server without blocking the calling thread.
+   *
+   * @return a future completed with the result of the put
+   * @see PoolImpl#executeAsync(AbstractOp)
+   */
+  public CompletableFuture<Object> putAsync(Object key, Object value, byte[] deltaBytes,
+      EntryEventImpl event, Operation op, Object callbackArg) {
+    recordTXOperation(ServerRegionOperation.PUT, key, value, deltaBytes, event.getEventId(), op,
+        false, null, callbackArg, false);
+    return PutOp.executeAsync((PoolImpl) pool, region, key, value, deltaBytes, event, op,
+        callbackArg);
+  }
+
 
 
   @Override
@@ -310,6 +310,11 @@ public class PooledConnection implements Connection {
     return getConnection().getCommBuffer();
   }
 
+  @Override
+  public ByteBuffer getCommBufferForAsyncRead() throws SocketException {
+    return getConnection().getCommBufferForAsyncRead();
+  }
+
   @Override
   public Socket getSocket() {
     return getConnection().getSocket();
@@ -16,11 +16,15 @@ package org.apache.geode.cache.query.internal;
 
 import static org.apache.geode.cache.query.security.RestrictedMethodAuthorizer.UNAUTHORIZED_STRING;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -29,7 +33,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.geode.annotations.Immutable;
 import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.EntryDestroyedException;
 import org.apache.geode.cache.query.NameNotFoundException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
@@ -43,6 +49,7 @@ import org.apache.geode.pdx.internal.InternalPdxInstance;
 import org.apache.geode.pdx.internal.PdxType;
 import org.apache.geode.pdx.internal.TypeRegistry;
 import org.apache.geode.security.NotAuthorizedException;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 /**
  * Utility for managing an attribute
@@ -54,6 +61,22 @@ public class AttributeDescriptor {
   @MakeNotStatic
   static final ConcurrentMap<List, Member> _localCache = new ConcurrentHashMap<>();
 
+  /**
+   * If true, attributes of domain objects are read through method handles created once per
+   * {@link Member} instead of through reflection.
+   */
+  @MutableForTesting
+  static boolean useMethodHandles =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "Query.USE_METHOD_HANDLES");
+
+  /** cache of the method handle reading each resolved Member */
+  @MakeNotStatic
+  private static final ConcurrentMap<Member, MethodHandle> methodHandles =
+      new ConcurrentHashMap<>();
+
+  @Immutable
+  private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
   public AttributeDescriptor(TypeRegistry pdxRegistry, String name) {
     _name = name;
     _pdxRegistry = pdxRegistry;
@@ -125,6 +148,9 @@ public class AttributeDescriptor {
             }
           }
 
+          if (useMethodHandles) {
+            return invoke(method, target);
+          }
           return method.invoke(target, (Object[]) null);
         } catch (EntryDestroyedException e) {
           // eat the Exception
@@ -149,6 +175,9 @@ public class AttributeDescriptor {
         }
       } else {
         try {
+          if (useMethodHandles) {
+            return invoke(m, target);
+          }
           return ((Field) m).get(target);
         } catch (IllegalAccessException e) {
           throw new NameNotFoundException(
@@ -158,6 +187,8 @@ public class AttributeDescriptor {
               e);
         } catch (EntryDestroyedException e) {
           return QueryService.UNDEFINED;
+        } catch (InvocationTargetException e) {
+          throw new QueryInvocationTargetException(e.getTargetException());
         }
       }
     } catch (EntryDestroyedException e) {
@@ -166,6 +197,40 @@ public class AttributeDescriptor {
     }
   }
 
+  /**
+   * Reads the given member of the target through its method handle. Exceptions thrown by the
+   * member are wrapped in an {@link InvocationTargetException}, as reflection would.
+   */
+  private static Object invoke(Member member, Object target)
+      throws IllegalAccessException, InvocationTargetException {
+    MethodHandle handle = methodHandles.get(member);
+    if (handle == null) {
+      handle = createMethodHandle(member);
+      methodHandles.putIfAbsent(member, handle);
+    }
+    try {
+      return handle.invokeExact(target);
+    } catch (EntryDestroyedException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private static MethodHandle createMethodHandle(Member member) throws IllegalAccessException {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle;
+    if (member instanceof Method) {
+      handle = lookup.unreflect((Method) member);
+    } else {
+      handle = lookup.unreflectGetter((Field) member);
+    }
+    if (Modifier.isStatic(member.getModifiers())) {
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    }
+    return handle.asType(READ_TYPE);
+  }
+
   @SuppressWarnings("unchecked")
   Member getReadMember(Class targetClass) throws NameNotFoundException {
     // mapping: public field (same name), method (getAttribute()), method (attribute())
@@ -175,7 +240,14 @@ public class AttributeDescriptor {
 
     Member m = JavaWorkarounds.computeIfAbsent(_localCache, key, k -> {
       Member member = getReadField(targetClass);
-      return member == null ? getReadMethod(targetClass) : member;
+      if (member == null) {
+        member = getReadMethod(targetClass);
+      }
+      if (member != null) {
+        // override security for nonpublic derived classes with public members
+        ((AccessibleObject) member).setAccessible(true);
+      }
+      return member;
     });
 
     if (m == null) {
@@ -183,8 +255,6 @@ public class AttributeDescriptor {
           "No public attribute named ' %s ' was found in class %s", _name, targetClass.getName()));
     }
 
-    // override security for nonpublic derived classes with public members
-    ((AccessibleObject) m).setAccessible(true);
     return m;
   }
 
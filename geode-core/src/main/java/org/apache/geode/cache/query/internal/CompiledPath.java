@@ -42,10 +42,12 @@ import org.apache.geode.internal.cache.PartitionedRegion;
 public class CompiledPath extends AbstractCompiledValue {
   private CompiledValue _receiver; // the value represented by the expression before the dot
   private String _tailID; // the identifier after the dot.
+  private final PdxFieldAccessor pdxFieldAccessor; // reads the identifier from PdxInstances
 
   public CompiledPath(CompiledValue rcvr, String id) {
     _receiver = rcvr;
     _tailID = id;
+    pdxFieldAccessor = new PdxFieldAccessor(id);
   }
 
   @Override
@@ -146,7 +148,10 @@ public class CompiledPath extends AbstractCompiledValue {
     // getTailID());
     // }
 
-    Object obj = PathUtils.evaluateAttribute(context, evalRcvr, getTailID());
+    Object obj = pdxFieldAccessor.read(evalRcvr);
+    if (obj == PdxFieldAccessor.NOT_READ) {
+      obj = PathUtils.evaluateAttribute(context, evalRcvr, getTailID());
+    }
     // check for BucketRegion substitution
     PartitionedRegion pr = context.getPartitionedRegion();
     if (pr != null && (obj instanceof Region)) {
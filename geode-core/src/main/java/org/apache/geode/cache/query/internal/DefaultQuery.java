@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.Logger;
@@ -54,6 +55,7 @@ import org.apache.geode.internal.NanoTimer;
 import org.apache.geode.internal.cache.BucketRegion;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.LocalDataSet;
+import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.TXStateProxy;
@@ -125,6 +127,12 @@ public class DefaultQuery implements Query {
   // to prevent objects from getting deserialized
   private boolean keepSerialized = false;
 
+  /**
+   * How long the query waits for the asynchronous index updates of a region before it uses the
+   * indexes of the region, or -1 to not wait.
+   */
+  private long indexUpdateWaitMillis = -1;
+
   private final StatisticsClock statisticsClock;
 
   /**
@@ -261,7 +269,7 @@ public class DefaultQuery implements Query {
         queryMonitor.monitorQueryExecution(context);
       }
 
-      result = executeUsingContext(context);
+      result = executeUsingResultCache(context, params);
       // Only wrap/copy results when copy on read is set and an index is used
       // This is because when an index is used, the results are actual references to values in the
       // cache
@@ -372,6 +380,55 @@ public class DefaultQuery implements Query {
     }
   }
 
+  /**
+   * Executes this query using the context, or returns its cached result if the
+   * {@link QueryResultCache} is enabled and the query reads only local, unmodified regions.
+   */
+  private Object executeUsingResultCache(QueryExecutionContext context, Object[] params)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    QueryResultCache resultCache =
+        QueryResultCache.ENABLED ? this.cache.getService(QueryResultCache.class) : null;
+    QueryResultCache.Key key =
+        resultCache == null ? null : QueryResultCache.keyFor(this.queryString, params);
+    List<LocalRegion> regions = key == null ? null : getCacheableRegions(params);
+    if (regions == null) {
+      return executeUsingContext(context);
+    }
+    QueryResultCache.CachedResult cached = resultCache.get(key);
+    if (cached != null) {
+      context.setIndexUsed(cached.isIndexUsed());
+      return cached.getResult();
+    }
+    QueryResultCache.RegionVersions regionVersions = QueryResultCache.capture(regions);
+    Object result = executeUsingContext(context);
+    if (result instanceof SelectResults) {
+      resultCache.put(key, (SelectResults<?>) result, regionVersions, context.isIndexUsed());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the regions read by this query if its result may be cached, or null. Results are
+   * cached only for queries on local data outside of transactions and functions.
+   */
+  private List<LocalRegion> getCacheableRegions(Object[] params) {
+    if (isCqQuery() || isQueryWithFunctionContext()
+        || ((TXManagerImpl) this.cache.getCacheTransactionManager()).getTXState() != null) {
+      return null;
+    }
+    List<LocalRegion> regions = new ArrayList<>();
+    for (String regionPath : getRegionsInQuery(params)) {
+      Region region = this.cache.getRegion(regionPath);
+      if (!(region instanceof LocalRegion) || region instanceof PartitionedRegion
+          || region instanceof BucketRegion) {
+        return null;
+      }
+      regions.add((LocalRegion) region);
+    }
+    return regions;
+  }
+
   QueryExecutor checkQueryOnPR(Object[] parameters)
       throws RegionNotFoundException, PartitionOfflineException {
     // check for PartitionedRegions. If a PartitionedRegion is referred to in the query,
@@ -826,6 +883,20 @@ public class DefaultQuery implements Query {
     this.isRemoteQuery = isRemoteQuery;
   }
 
+  /**
+   * Makes the query wait, before it uses the asynchronously maintained indexes of a region, until
+   * the index updates queued before are applied, so that the query reads the preceding writes. If
+   * the updates are not applied within the timeout, the query evaluates the entries of the region
+   * instead of using its indexes. This is not sent to the other members of a partitioned region.
+   */
+  public void setWaitForIndexUpdates(long timeout, TimeUnit unit) {
+    this.indexUpdateWaitMillis = unit.toMillis(timeout);
+  }
+
+  public long getIndexUpdateWaitMillis() {
+    return this.indexUpdateWaitMillis;
+  }
+
   /**
    * set keepSerialized flag for remote queries of type 'select *' having independent operators
    */
@@ -112,6 +112,18 @@ public class ExecutionContext {
   private MethodInvocationAuthorizer methodInvocationAuthorizer;
   private final QueryConfigurationService queryConfigurationService;
 
+  /**
+   * How long to wait for the asynchronous index updates of a region before using its indexes, or
+   * -1 to not wait.
+   */
+  private long indexUpdateWaitMillis = -1;
+
+  /**
+   * Whether the asynchronous index updates of an index manager were applied in time, for the index
+   * managers already waited for.
+   */
+  private Map<IndexManager, Boolean> indexUpdatesApplied;
+
   /**
    * Returns the {@link MethodInvocationAuthorizer} that will be used, if needed, during the
    * execution of the query associated with this context.
@@ -617,6 +629,29 @@ public class ExecutionContext {
     return false;
   }
 
+  public long getIndexUpdateWaitMillis() {
+    return indexUpdateWaitMillis;
+  }
+
+  public void setIndexUpdateWaitMillis(long indexUpdateWaitMillis) {
+    this.indexUpdateWaitMillis = indexUpdateWaitMillis;
+  }
+
+  /**
+   * @return whether the index updates of the index manager were applied in time, or null if they
+   *         have not been waited for yet
+   */
+  public Boolean getIndexUpdatesApplied(IndexManager indexManager) {
+    return indexUpdatesApplied == null ? null : indexUpdatesApplied.get(indexManager);
+  }
+
+  public void setIndexUpdatesApplied(IndexManager indexManager, boolean applied) {
+    if (indexUpdatesApplied == null) {
+      indexUpdatesApplied = new HashMap<>();
+    }
+    indexUpdatesApplied.put(indexManager, applied);
+  }
+
   public List getBucketList() {
     return null;
   }
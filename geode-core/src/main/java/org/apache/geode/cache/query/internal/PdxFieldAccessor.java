@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import org.apache.geode.pdx.internal.PdxField;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
+import org.apache.geode.pdx.internal.PdxType;
+
+/**
+ * Reads one field of the serialized PdxInstances a query path is evaluated on. The field is
+ * resolved by name once per {@link PdxType} and then read at its precomputed position in the
+ * serialized bytes, so evaluating the path on many entries of the same type does not repeat the
+ * name lookups of {@link AttributeDescriptor}. String fields are read as {@link
+ * org.apache.geode.pdx.internal.PdxString PdxStrings} as before.
+ *
+ * @since Geode 1.15
+ */
+class PdxFieldAccessor {
+  /**
+   * Returned by {@link #read(Object)} if the target is not read by this accessor and must be
+   * evaluated through {@link PathUtils#evaluateAttribute}.
+   */
+  static final Object NOT_READ = new Object();
+
+  private final String fieldName;
+
+  /**
+   * The field resolved for the PdxType most recently read.
+   */
+  private volatile ResolvedField resolved;
+
+  PdxFieldAccessor(String fieldName) {
+    this.fieldName = fieldName;
+  }
+
+  /**
+   * Returns the value of the field of the given target, or {@link #NOT_READ} if the target is not
+   * a serialized PdxInstance that has the field.
+   */
+  Object read(Object target) {
+    // writable instances may change their type when pending writes are flushed
+    if (target == null || target.getClass() != PdxInstanceImpl.class) {
+      return NOT_READ;
+    }
+    PdxInstanceImpl pdxInstance = (PdxInstanceImpl) target;
+    PdxType pdxType = pdxInstance.getPdxType();
+    ResolvedField field = resolved;
+    if (field == null || field.pdxType != pdxType) {
+      field = new ResolvedField(pdxType, pdxType.getPdxField(fieldName));
+      resolved = field;
+    }
+    if (field.pdxField == null) {
+      return NOT_READ;
+    }
+    return pdxInstance.readRawField(field.pdxField);
+  }
+
+  private static class ResolvedField {
+    private final PdxType pdxType;
+    private final PdxField pdxField;
+
+    private ResolvedField(PdxType pdxType, PdxField pdxField) {
+      this.pdxType = pdxType;
+      this.pdxField = pdxField;
+    }
+  }
+}
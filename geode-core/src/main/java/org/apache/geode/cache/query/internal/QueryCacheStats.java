@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
+
+/**
+ * QueryCacheStats tracks statistics about the {@link QueryResultCache}.
+ *
+ * @since Geode 1.15
+ */
+public class QueryCacheStats {
+
+  @Immutable
+  private static final StatisticsType type;
+
+  private static final int hitsId;
+  private static final int missesId;
+  private static final int invalidationsId;
+  private static final int evictionsId;
+  private static final int entriesId;
+  private static final int resultsId;
+
+  /** The Statistics object that we delegate most behavior to */
+  private final Statistics stats;
+
+  static {
+    StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
+
+    type = f.createType("QueryCacheStats", "Statistics about the query result cache",
+        new StatisticDescriptor[] {
+            f.createLongCounter("hits",
+                "Number of query executions answered from the query result cache", "operations"),
+            f.createLongCounter("misses",
+                "Number of cacheable query executions not found in the query result cache",
+                "operations"),
+            f.createLongCounter("invalidations",
+                "Number of cached query results dropped because a queried region was modified",
+                "operations"),
+            f.createLongCounter("evictions",
+                "Number of cached query results evicted to stay within the size limit",
+                "operations"),
+            f.createIntGauge("entries", "Current number of cached query results", "entries"),
+            f.createLongGauge("results",
+                "Current number of result elements held by the query result cache", "results"),});
+
+    hitsId = type.nameToId("hits");
+    missesId = type.nameToId("misses");
+    invalidationsId = type.nameToId("invalidations");
+    evictionsId = type.nameToId("evictions");
+    entriesId = type.nameToId("entries");
+    resultsId = type.nameToId("results");
+  }
+
+  /**
+   * Creates a new <code>QueryCacheStats</code> and registers itself with the given statistics
+   * factory.
+   */
+  public QueryCacheStats(StatisticsFactory factory) {
+    stats = factory.createAtomicStatistics(type, "queryResultCache");
+  }
+
+  public long getHits() {
+    return stats.getLong(hitsId);
+  }
+
+  public long getMisses() {
+    return stats.getLong(missesId);
+  }
+
+  public long getInvalidations() {
+    return stats.getLong(invalidationsId);
+  }
+
+  public long getEvictions() {
+    return stats.getLong(evictionsId);
+  }
+
+  public int getEntries() {
+    return stats.getInt(entriesId);
+  }
+
+  public long getResults() {
+    return stats.getLong(resultsId);
+  }
+
+  public void incHits() {
+    stats.incLong(hitsId, 1);
+  }
+
+  public void incMisses() {
+    stats.incLong(missesId, 1);
+  }
+
+  public void incInvalidations() {
+    stats.incLong(invalidationsId, 1);
+  }
+
+  public void incEvictions() {
+    stats.incLong(evictionsId, 1);
+  }
+
+  public void incEntries(int delta) {
+    stats.incInt(entriesId, delta);
+  }
+
+  public void incResults(long delta) {
+    stats.incLong(resultsId, delta);
+  }
+
+  public void close() {
+    stats.close();
+  }
+}
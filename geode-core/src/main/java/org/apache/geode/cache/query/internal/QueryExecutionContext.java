@@ -81,6 +81,7 @@ public class QueryExecutionContext extends ExecutionContext {
     super(bindArguments, cache);
     this.query = query;
     this.cqQueryContext = ((DefaultQuery) query).isCqQuery();
+    setIndexUpdateWaitMillis(((DefaultQuery) query).getIndexUpdateWaitMillis());
   }
 
   @Override
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.util.internal.GeodeGlossary.GEMFIRE_PREFIX;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.apache.geode.cache.query.types.ObjectType;
+import org.apache.geode.internal.cache.CacheService;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.management.internal.beans.CacheServiceMBeanBase;
+
+/**
+ * An opt-in cache of the results of local queries, keyed by the normalized query string and the
+ * bind parameters. A cached result is used only while none of the regions the query reads has been
+ * modified since the query was executed, which is checked with the region
+ * {@link LocalRegion#getModificationCount() modification counts}. The cache holds at most
+ * {@link #MAX_RESULTS} result elements and evicts the least recently used results beyond that.
+ * <p>
+ * The cache keeps its own copy of the elements of a result, and every execution that hits it gets
+ * a new {@link ResultsCollectionWrapper} over a copy of them, so callers may modify the results
+ * they get. The elements themselves are shared, like the values of a query that uses an index.
+ *
+ * @since Geode 1.15
+ */
+public class QueryResultCache implements CacheService {
+  /**
+   * Whether query results are cached. The service is not available if this is false.
+   */
+  static final boolean ENABLED = Boolean.getBoolean(GEMFIRE_PREFIX + "Query.RESULT_CACHE_ENABLED");
+
+  static final int MAX_RESULTS =
+      Integer.getInteger(GEMFIRE_PREFIX + "Query.RESULT_CACHE_MAX_RESULTS", 100_000);
+
+  private final ConcurrentMap<Key, CachedResult> entries = new ConcurrentHashMap<>();
+
+  /**
+   * The number of result elements of all cached results.
+   */
+  private final AtomicLong cachedResults = new AtomicLong();
+
+  /**
+   * Orders the accesses of cached results for eviction.
+   */
+  private final AtomicLong accessClock = new AtomicLong();
+
+  /**
+   * Held by the one thread evicting results at a time, so that concurrent puts do not evict more
+   * results than needed.
+   */
+  private final Object evictionLock = new Object();
+
+  private int maxResults;
+
+  private QueryCacheStats stats;
+
+  public QueryResultCache() {
+    // loaded as a CacheService
+  }
+
+  QueryResultCache(QueryCacheStats stats, int maxResults) {
+    this.stats = stats;
+    this.maxResults = maxResults;
+  }
+
+  @Override
+  public boolean init(Cache cache) {
+    if (!ENABLED) {
+      return false;
+    }
+    stats = new QueryCacheStats(cache.getDistributedSystem());
+    maxResults = MAX_RESULTS;
+    return true;
+  }
+
+  @Override
+  public Class<? extends CacheService> getInterface() {
+    return QueryResultCache.class;
+  }
+
+  @Override
+  public CacheServiceMBeanBase getMBean() {
+    return null;
+  }
+
+  @Override
+  public void close() {
+    entries.clear();
+    cachedResults.set(0);
+    if (stats != null) {
+      stats.close();
+    }
+  }
+
+  /**
+   * Returns the cached result of the given query if the regions it read have not been modified
+   * since, or null.
+   */
+  CachedResult get(Key key) {
+    CachedResult cached = entries.get(key);
+    if (cached == null) {
+      stats.incMisses();
+      return null;
+    }
+    if (!cached.regionVersions.isCurrent()) {
+      if (remove(key, cached)) {
+        stats.incInvalidations();
+      }
+      stats.incMisses();
+      return null;
+    }
+    cached.lastAccess = accessClock.incrementAndGet();
+    stats.incHits();
+    return cached;
+  }
+
+  /**
+   * Caches the result of the given query.
+   *
+   * @param regionVersions the modification counts of the regions read by the query, captured
+   *        before the query was executed
+   */
+  void put(Key key, SelectResults<?> result, RegionVersions regionVersions,
+      boolean indexUsed) {
+    if (result.size() > maxResults) {
+      return;
+    }
+    CollectionType collectionType = result.getCollectionType();
+    ObjectType elementType = collectionType.getElementType();
+    if (!Modifier.isPublic(elementType.resolveClass().getModifiers())) {
+      // a ResultsCollectionWrapper cannot hold the copies of such a result
+      return;
+    }
+    CachedResult cached = new CachedResult(result.toArray(), elementType,
+        collectionType.allowsDuplicates(), regionVersions, indexUsed);
+    cached.lastAccess = accessClock.incrementAndGet();
+    CachedResult previous = entries.put(key, cached);
+    add(cached);
+    if (previous != null) {
+      discount(previous);
+    }
+    if (cachedResults.get() > maxResults) {
+      evict();
+    }
+  }
+
+  private void add(CachedResult cached) {
+    cachedResults.addAndGet(cached.size());
+    stats.incEntries(1);
+    stats.incResults(cached.size());
+  }
+
+  private boolean remove(Key key, CachedResult cached) {
+    if (!entries.remove(key, cached)) {
+      return false;
+    }
+    discount(cached);
+    return true;
+  }
+
+  private void discount(CachedResult cached) {
+    cachedResults.addAndGet(-cached.size());
+    stats.incEntries(-1);
+    stats.incResults(-cached.size());
+  }
+
+  /**
+   * Evicts the least recently used results until the cached results fit the limit.
+   */
+  private void evict() {
+    synchronized (evictionLock) {
+      if (cachedResults.get() <= maxResults) {
+        return;
+      }
+      // capture the access times so that concurrent hits do not change them while sorting
+      List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+      for (Map.Entry<Key, CachedResult> entry : entries.entrySet()) {
+        candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+      }
+      candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+      for (EvictionCandidate candidate : candidates) {
+        if (cachedResults.get() <= maxResults) {
+          break;
+        }
+        if (remove(candidate.key, candidate.cached)) {
+          stats.incEvictions();
+        }
+      }
+    }
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the cache key of the given query, or null if a bind parameter is not a simple value
+   * whose equality identifies the query result.
+   */
+  static Key keyFor(String queryString, Object[] params) {
+    Object[] keyParams = new Object[params.length];
+    for (int i = 0; i < params.length; i++) {
+      Object param = params[i];
+      if (param instanceof Date) {
+        keyParams[i] = ((Date) param).clone();
+      } else if (param == null || param instanceof String || param instanceof Number
+          || param instanceof Boolean || param instanceof Character || param instanceof Enum) {
+        keyParams[i] = param;
+      } else {
+        return null;
+      }
+    }
+    return new Key(normalize(queryString), keyParams);
+  }
+
+  /**
+   * Collapses whitespace outside of string literals so that queries differing only in formatting
+   * share a cache entry.
+   */
+  static String normalize(String queryString) {
+    StringBuilder normalized = new StringBuilder(queryString.length());
+    boolean inLiteral = false;
+    boolean pendingSpace = false;
+    for (int i = 0; i < queryString.length(); i++) {
+      char c = queryString.charAt(i);
+      if (!inLiteral && Character.isWhitespace(c)) {
+        pendingSpace = normalized.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        normalized.append(' ');
+        pendingSpace = false;
+      }
+      if (c == '\'') {
+        inLiteral = !inLiteral;
+      }
+      normalized.append(c);
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Captures the modification counts of the given regions.
+   */
+  static RegionVersions capture(List<LocalRegion> regions) {
+    LocalRegion[] regionArray = regions.toArray(new LocalRegion[0]);
+    long[] counts = new long[regionArray.length];
+    for (int i = 0; i < regionArray.length; i++) {
+      counts[i] = regionArray[i].getModificationCount();
+    }
+    return new RegionVersions(regionArray, counts);
+  }
+
+  static class Key {
+    private final String queryString;
+    private final Object[] params;
+    private final int hashCode;
+
+    private Key(String queryString, Object[] params) {
+      this.queryString = queryString;
+      this.params = params;
+      this.hashCode = 31 * queryString.hashCode() + Arrays.hashCode(params);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return queryString.equals(that.queryString) && Arrays.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * The modification counts of the regions read by a query.
+   */
+  static class RegionVersions {
+    private final LocalRegion[] regions;
+    private final long[] counts;
+
+    private RegionVersions(LocalRegion[] regions, long[] counts) {
+      this.regions = regions;
+      this.counts = counts;
+    }
+
+    /**
+     * Returns true if none of the regions has been modified or destroyed since the counts were
+     * captured.
+     */
+    boolean isCurrent() {
+      for (int i = 0; i < regions.length; i++) {
+        if (regions[i].isDestroyed() || regions[i].getModificationCount() != counts[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  static class CachedResult {
+    private final Object[] elements;
+    private final ObjectType elementType;
+    private final boolean allowsDuplicates;
+    private final RegionVersions regionVersions;
+    private final boolean indexUsed;
+    private volatile long lastAccess;
+
+    private CachedResult(Object[] elements, ObjectType elementType, boolean allowsDuplicates,
+        RegionVersions regionVersions, boolean indexUsed) {
+      this.elements = elements;
+      this.elementType = elementType;
+      this.allowsDuplicates = allowsDuplicates;
+      this.regionVersions = regionVersions;
+      this.indexUsed = indexUsed;
+    }
+
+    private int size() {
+      return elements.length;
+    }
+
+    /**
+     * Returns a new copy of the cached result, in the order of the original result.
+     */
+    SelectResults<?> getResult() {
+      List<Object> list = Arrays.asList(elements);
+      Collection<Object> base =
+          allowsDuplicates ? new ArrayList<>(list) : new LinkedHashSet<>(list);
+      return new ResultsCollectionWrapper(elementType, base);
+    }
+
+    boolean isIndexUsed() {
+      return indexUsed;
+    }
+  }
+
+  private static class EvictionCandidate {
+    private final Key key;
+    private final CachedResult cached;
+    private final long lastAccess;
+
+    private EvictionCandidate(Key key, CachedResult cached) {
+      this.key = key;
+      this.cached = cached;
+      this.lastAccess = cached.lastAccess;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -932,6 +933,8 @@ public abstract class AbstractIndex implements IndexProtocol {
     public void incReadLockCount(int delta) {}
 
     public void incNumBucketIndexes(int delta) {}
+
+    public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {}
   }
 
   class IMQEvaluator implements IndexedExpressionEvaluator {
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
@@ -165,6 +166,11 @@ public abstract class AbstractMapIndex extends AbstractIndex {
       this.vsdStats.incReadLockCount(delta);
     }
 
+    @Override
+    public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {
+      this.vsdStats.setAsyncUpdateSuppliers(queueSize, lag);
+    }
+
     /**
      * Returns the total amount of time (in nanoseconds) spent updating this index.
      */
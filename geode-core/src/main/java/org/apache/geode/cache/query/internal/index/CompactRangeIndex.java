@@ -22,9 +22,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 
 import org.apache.logging.log4j.Logger;
 
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.CacheException;
 import org.apache.geode.cache.EntryDestroyedException;
@@ -95,6 +99,18 @@ public class CompactRangeIndex extends AbstractIndex {
 
   private IndexStore indexStore;
 
+  /**
+   * The histogram of the keys used to estimate the size of range conditions, built on demand.
+   */
+  private volatile IndexHistogram histogram;
+
+  /**
+   * The number of index updates when building a histogram last failed, or -1.
+   */
+  private volatile long histogramFailedAtUpdate = -1;
+
+  private final AtomicBoolean buildingHistogram = new AtomicBoolean();
+
   @MutableForTesting
   static boolean TEST_ALWAYS_UPDATE_IN_PROGRESS = false;
 
@@ -341,7 +357,10 @@ public class CompactRangeIndex extends AbstractIndex {
             if (CompactRangeIndex.testHook != null) {
               CompactRangeIndex.testHook.hook(1);
             }
-            if (totalSize > 1) {
+            IndexHistogram histogram = getHistogram(totalSize);
+            if (histogram != null) {
+              size = (int) histogram.estimateLessThan(((Number) key).doubleValue());
+            } else if (totalSize > 1) {
               Number keyAsNum = (Number) key;
               int x = 0;
               IndexStoreEntry firstEntry = null;
@@ -384,7 +403,7 @@ public class CompactRangeIndex extends AbstractIndex {
                   iter1.close();
                 }
                 if (iter2 != null) {
-                  iter1.close();
+                  iter2.close();
                 }
               }
 
@@ -404,7 +423,10 @@ public class CompactRangeIndex extends AbstractIndex {
             if (CompactRangeIndex.testHook != null) {
               CompactRangeIndex.testHook.hook(2);
             }
-            if (totalSize > 1) {
+            IndexHistogram histogram = getHistogram(totalSize);
+            if (histogram != null) {
+              size = (int) histogram.estimateGreaterThan(((Number) key).doubleValue());
+            } else if (totalSize > 1) {
               Number keyAsNum = (Number) key;
               int x = 0;
               IndexStoreEntry firstEntry = null;
@@ -446,6 +468,9 @@ public class CompactRangeIndex extends AbstractIndex {
                 if (iter1 != null) {
                   iter1.close();
                 }
+                if (iter2 != null) {
+                  iter2.close();
+                }
               }
             } else {
               // not attempting to differentiate between GT & GE
@@ -469,6 +494,77 @@ public class CompactRangeIndex extends AbstractIndex {
     return size;
   }
 
+  /**
+   * Returns the histogram of the keys of this index. If it is missing or stale, a new one is built
+   * in the background, so the query being planned does not wait for a scan of the whole index.
+   * Returns null if the index is too small for a histogram, the keys are not numeric or the first
+   * histogram has not been built yet.
+   */
+  private IndexHistogram getHistogram(int totalSize) {
+    if (IndexHistogram.BUCKETS <= 0 || totalSize < IndexHistogram.MIN_INDEX_SIZE) {
+      return null;
+    }
+    long updates = internalIndexStats.getNumUpdates();
+    IndexHistogram current = histogram;
+    boolean rebuild = current == null
+        ? histogramFailedAtUpdate < 0
+            || updates - histogramFailedAtUpdate > IndexHistogram.MIN_INDEX_SIZE
+        : current.isStale(updates);
+    if (rebuild && buildingHistogram.compareAndSet(false, true)) {
+      try {
+        cache.getDistributionManager().getExecutors().getWaitingThreadPool()
+            .execute(() -> rebuildHistogram(totalSize, updates));
+      } catch (RejectedExecutionException e) {
+        // shutting down
+        buildingHistogram.set(false);
+      }
+    }
+    return current;
+  }
+
+  private void rebuildHistogram(int totalSize, long updates) {
+    try {
+      IndexHistogram built = buildHistogram(totalSize, updates);
+      if (built == null) {
+        histogramFailedAtUpdate = updates;
+      }
+      histogram = built;
+    } catch (RuntimeException e) {
+      // for example the cache was closed, so keep estimating without a histogram for a while
+      if (logger.isDebugEnabled()) {
+        logger.debug("Failed to build the histogram of index {}", getName(), e);
+      }
+      histogramFailedAtUpdate = updates;
+    } finally {
+      buildingHistogram.set(false);
+    }
+  }
+
+  @VisibleForTesting
+  IndexHistogram getHistogramForTesting() {
+    return histogram;
+  }
+
+  private IndexHistogram buildHistogram(int totalSize, long updates) {
+    IndexHistogram.Builder builder =
+        new IndexHistogram.Builder(totalSize, IndexHistogram.BUCKETS, updates);
+    CloseableIterator<IndexStoreEntry> iterator = indexStore.iterator(null);
+    try {
+      while (iterator.hasNext()) {
+        Object key = iterator.next().getDeserializedKey();
+        if (IndexManager.NULL.equals(key) || QueryService.UNDEFINED.equals(key)) {
+          continue;
+        }
+        if (!builder.add(key)) {
+          return null;
+        }
+      }
+    } finally {
+      iterator.close();
+    }
+    return builder.build();
+  }
+
   /** Method called while appropriate lock held on index */
   private void lockedQueryPrivate(Object key, int operator, Collection results,
       CompiledValue iterOps, RuntimeIterator runtimeItr, ExecutionContext context, Set keysToRemove,
@@ -1047,6 +1143,11 @@ public class CompactRangeIndex extends AbstractIndex {
       this.vsdStats.incReadLockCount(delta);
     }
 
+    @Override
+    public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {
+      this.vsdStats.setAsyncUpdateSuppliers(queueSize, lag);
+    }
+
     /**
      * Returns the total amount of time (in nanoseconds) spent updating this index.
      */
@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.apache.logging.log4j.Logger;
@@ -916,6 +917,11 @@ public class HashIndex extends AbstractIndex {
       this.vsdStats.incReadLockCount(delta);
     }
 
+    @Override
+    public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {
+      this.vsdStats.setAsyncUpdateSuppliers(queueSize, lag);
+    }
+
     /**
      * Returns the total amount of time (in nanoseconds) spent updating this index.
      */
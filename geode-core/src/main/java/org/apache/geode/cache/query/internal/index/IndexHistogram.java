@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import java.util.Arrays;
+
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * An equi-depth histogram of the numeric keys of a sorted index. Each bucket holds about the same
+ * number of index entries, so the row count of a range condition is estimated well even if the
+ * keys are skewed, which linear interpolation between the smallest and largest key does not.
+ * <p>
+ * A histogram is built from one pass over the sorted index and is immutable. The index rebuilds
+ * it once the number of index updates since it was built exceeds {@link #isStale a fraction} of
+ * its size.
+ *
+ * @since Geode 1.15
+ */
+class IndexHistogram {
+  static final int BUCKETS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "Query.INDEX_HISTOGRAM_BUCKETS", 64);
+
+  /**
+   * Indexes smaller than this are estimated without a histogram.
+   */
+  static final int MIN_INDEX_SIZE = 1000;
+
+  private static final double STALE_FRACTION = 0.1;
+
+  /**
+   * The bucket boundaries. Bucket i holds the keys from bounds[i] to bounds[i + 1].
+   */
+  private final double[] bounds;
+
+  /**
+   * The number of index entries in each bucket.
+   */
+  private final long[] counts;
+
+  private final long total;
+
+  /**
+   * The number of index updates when this histogram was built.
+   */
+  private final long builtAtUpdate;
+
+  private IndexHistogram(double[] bounds, long[] counts, long total, long builtAtUpdate) {
+    this.bounds = bounds;
+    this.counts = counts;
+    this.total = total;
+    this.builtAtUpdate = builtAtUpdate;
+  }
+
+  /**
+   * Collects the keys of an index, in ascending order and one key per index entry, into a
+   * histogram.
+   */
+  static class Builder {
+    private final long step;
+    private final double[] bounds;
+    private final long[] counts;
+    private final long updates;
+    private int boundCount;
+    private long position;
+    private long lastBoundPosition;
+    private double lastKey;
+
+    /**
+     * @param expectedSize the approximate number of keys
+     * @param buckets the number of buckets to use
+     * @param updates the number of updates of the index before the keys are read
+     */
+    Builder(int expectedSize, int buckets, long updates) {
+      step = Math.max(1, expectedSize / Math.max(1, buckets));
+      bounds = new double[buckets + 2];
+      counts = new long[buckets + 1];
+      this.updates = updates;
+    }
+
+    /**
+     * Adds the next key.
+     *
+     * @return false if the key is not a number, in which case no histogram can be built
+     */
+    boolean add(Object key) {
+      if (!(key instanceof Number)) {
+        return false;
+      }
+      lastKey = ((Number) key).doubleValue();
+      if (position % step == 0 && boundCount < counts.length) {
+        if (boundCount > 0) {
+          counts[boundCount - 1] = position - lastBoundPosition;
+        }
+        bounds[boundCount++] = lastKey;
+        lastBoundPosition = position;
+      }
+      position++;
+      return true;
+    }
+
+    /**
+     * @return the histogram or null if no key was added
+     */
+    IndexHistogram build() {
+      if (position == 0) {
+        return null;
+      }
+      // close the last bucket with the largest key
+      counts[boundCount - 1] = position - lastBoundPosition;
+      bounds[boundCount] = lastKey;
+      return new IndexHistogram(Arrays.copyOf(bounds, boundCount + 1),
+          Arrays.copyOf(counts, boundCount), position, updates);
+    }
+  }
+
+  /**
+   * Returns true if the index has been updated so often since this histogram was built that the
+   * histogram should be rebuilt.
+   */
+  boolean isStale(long updates) {
+    return updates - builtAtUpdate > Math.max(MIN_INDEX_SIZE, total * STALE_FRACTION);
+  }
+
+  long getTotal() {
+    return total;
+  }
+
+  int getBucketCount() {
+    return counts.length;
+  }
+
+  /**
+   * Estimates the number of index entries with a key less than the given key. LT and LE are not
+   * distinguished.
+   */
+  long estimateLessThan(double key) {
+    if (key <= bounds[0]) {
+      return 0;
+    }
+    if (key > bounds[bounds.length - 1]) {
+      return total;
+    }
+    double estimate = 0;
+    for (int i = 0; i < counts.length; i++) {
+      double low = bounds[i];
+      double high = bounds[i + 1];
+      if (key >= high) {
+        estimate += counts[i];
+      } else {
+        if (key > low) {
+          estimate += counts[i] * (key - low) / (high - low);
+        }
+        break;
+      }
+    }
+    return Math.min(total, Math.round(estimate));
+  }
+
+  /**
+   * Estimates the number of index entries with a key greater than the given key. GT and GE are not
+   * distinguished.
+   */
+  long estimateGreaterThan(double key) {
+    return total - estimateLessThan(key);
+  }
+}
@@ -32,11 +32,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.SystemFailure;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.Region;
@@ -105,10 +107,47 @@ public class IndexManager {
   private ConcurrentMap canonicalizedIteratorNameMap = new ConcurrentHashMap();
   private IndexUpdaterThread updater;
 
+  /**
+   * All updater threads of the region. Updates of the same entry always go to the same thread.
+   * The first one is {@link #updater}, which also recreates the indexes.
+   */
+  private IndexUpdaterThread[] updaters;
+
   // Threshold for Queue.
   private final int INDEX_MAINTENANCE_BUFFER =
       Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "AsynchIndexMaintenanceThreshold", -1);
 
+  /**
+   * The number of threads updating the indexes of a region with asynchronous index maintenance.
+   */
+  static final int ASYNC_INDEX_UPDATER_THREADS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "index.ASYNC_UPDATER_THREADS", 1);
+
+  /**
+   * The maximum number of queued index updates an updater thread applies before it updates the
+   * queue statistics and wakes up threads waiting for the updates.
+   */
+  static final int ASYNC_INDEX_UPDATE_BATCH_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "index.ASYNC_UPDATE_BATCH_SIZE", 100);
+
+  /**
+   * Overrides {@link #ASYNC_INDEX_UPDATER_THREADS} when greater than 0.
+   */
+  @MutableForTesting
+  static int TEST_ASYNC_INDEX_UPDATER_THREADS = 0;
+
+  /**
+   * The number of asynchronous index updates queued but not yet applied, across all updater
+   * threads.
+   */
+  private final AtomicLong asyncUpdateQueueSize = new AtomicLong();
+
+  /**
+   * The time in nanoseconds from queuing the oldest update of the last applied batch until the
+   * batch was applied.
+   */
+  private volatile long asyncUpdateLag;
+
   public static final boolean JOIN_OPTIMIZATION =
       !Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "index.DisableJoinOptimization");
 
@@ -173,9 +212,16 @@ public class IndexManager {
         region.getAttributes().getEvictionAttributes().getAction().isOverflowToDisk();
     this.offHeap = region.getAttributes().getOffHeap();
     if (!indexMaintenanceSynchronous) {
-      updater = new IndexUpdaterThread(this.INDEX_MAINTENANCE_BUFFER,
-          "OqlIndexUpdater:" + region.getFullPath());
-      updater.start();
+      int threads = Math.max(1, TEST_ASYNC_INDEX_UPDATER_THREADS > 0
+          ? TEST_ASYNC_INDEX_UPDATER_THREADS : ASYNC_INDEX_UPDATER_THREADS);
+      updaters = new IndexUpdaterThread[threads];
+      for (int i = 0; i < threads; i++) {
+        String threadName = threads == 1 ? "OqlIndexUpdater:" + region.getFullPath()
+            : "OqlIndexUpdater-" + i + ":" + region.getFullPath();
+        updaters[i] = new IndexUpdaterThread(this.INDEX_MAINTENANCE_BUFFER, threadName);
+        updaters[i].start();
+      }
+      updater = updaters[0];
     }
   }
 
@@ -510,6 +556,7 @@ public class IndexManager {
   public void addIndex(String indexName, Index index) {
     IndexTask indexTask = new IndexTask(cache, indexName);
     this.indexes.put(indexTask, index);
+    registerAsyncUpdateStats(index);
   }
 
   /**
@@ -528,6 +575,9 @@ public class IndexManager {
   public IndexData getIndex(IndexType indexType, String[] definitions,
       CompiledValue indexedExpression, ExecutionContext context)
       throws AmbiguousNameException, TypeMismatchException, NameResolutionException {
+    if (!awaitIndexUpdates(context)) {
+      return null;
+    }
     IndexData indxData = null;
     int qItrSize = definitions.length;
     Iterator it = this.indexes.values().iterator();
@@ -590,6 +640,9 @@ public class IndexManager {
   public IndexData getBestMatchIndex(IndexType indexType, String[] definitions,
       CompiledValue indexedExpression, ExecutionContext context)
       throws AmbiguousNameException, TypeMismatchException, NameResolutionException {
+    if (!awaitIndexUpdates(context)) {
+      return null;
+    }
 
     Index bestIndex = null;
     Index bestPRIndex = null;
@@ -988,10 +1041,94 @@ public class IndexManager {
       processAction(entry, action, opCode);
     } else {
       // System.out.println("Aynchronous update");
-      updater.addTask(action, entry, opCode);
+      updaterFor(entry).addTask(action, entry, opCode);
     }
   }
 
+  /**
+   * Returns the updater thread for the given entry, so that the updates of an entry are applied
+   * in order.
+   */
+  private IndexUpdaterThread updaterFor(RegionEntry entry) {
+    if (updaters.length == 1) {
+      return updater;
+    }
+    return updaters[(entry.getKey().hashCode() & Integer.MAX_VALUE) % updaters.length];
+  }
+
+  /**
+   * Waits until the asynchronous index updates queued before this call have been applied, so that
+   * a query executed afterwards reads the writes that preceded it.
+   *
+   * @return true if the updates have been applied within the timeout or the indexes are maintained
+   *         synchronously
+   */
+  public boolean waitForIndexUpdates(long timeout, TimeUnit unit) throws InterruptedException {
+    if (isIndexMaintenanceTypeSynchronous()) {
+      return true;
+    }
+    long[] watermarks = new long[updaters.length];
+    for (int i = 0; i < updaters.length; i++) {
+      watermarks[i] = updaters[i].getQueuedCount();
+    }
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (int i = 0; i < updaters.length; i++) {
+      if (!updaters[i].waitForApplied(watermarks[i], deadline)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Waits for the asynchronous index updates of this region if the query of the given context asked
+   * for it, once per query and region.
+   *
+   * @return false if the updates have not been applied in time, in which case the query must not
+   *         use the indexes of this region and evaluates its entries instead
+   */
+  private boolean awaitIndexUpdates(ExecutionContext context) {
+    if (context == null || context.getIndexUpdateWaitMillis() < 0
+        || isIndexMaintenanceTypeSynchronous()) {
+      return true;
+    }
+    Boolean applied = context.getIndexUpdatesApplied(this);
+    if (applied == null) {
+      try {
+        applied = waitForIndexUpdates(context.getIndexUpdateWaitMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        applied = false;
+      }
+      context.setIndexUpdatesApplied(this, applied);
+    }
+    return applied;
+  }
+
+  /**
+   * Lets the statistics of the given index sample the asynchronous update statistics of this
+   * region.
+   */
+  private void registerAsyncUpdateStats(Index index) {
+    if (indexMaintenanceSynchronous || !(index instanceof AbstractIndex)) {
+      return;
+    }
+    InternalIndexStatistics stats = ((AbstractIndex) index).internalIndexStats;
+    if (stats != null) {
+      stats.setAsyncUpdateSuppliers(asyncUpdateQueueSize::get, () -> asyncUpdateLag);
+    }
+  }
+
+  @VisibleForTesting
+  long getAsyncUpdateQueueSize() {
+    return asyncUpdateQueueSize.get();
+  }
+
+  @VisibleForTesting
+  long getAsyncUpdateLag() {
+    return asyncUpdateLag;
+  }
+
   /**
    * @param opCode one of IndexProtocol.OTHER_OP, BEFORE_UPDATE_OP, AFTER_UPDATE_OP.
    */
@@ -1308,8 +1445,11 @@ public class IndexManager {
    */
   public void destroy() throws QueryException {
     this.indexes.clear();
-    if (!isIndexMaintenanceTypeSynchronous())
-      updater.shutdown();
+    if (!isIndexMaintenanceTypeSynchronous()) {
+      for (IndexUpdaterThread updaterThread : updaters) {
+        updaterThread.shutdown();
+      }
+    }
   }
 
   /**
@@ -1414,7 +1554,19 @@ public class IndexManager {
 
     private volatile boolean shutdownRequested = false;
 
-    private volatile BlockingQueue pendingTasks;
+    private volatile BlockingQueue<Object[]> pendingTasks;
+
+    /**
+     * The number of tasks queued so far.
+     */
+    private final AtomicLong queuedCount = new AtomicLong();
+
+    /**
+     * The number of tasks applied so far. Guarded by appliedLock.
+     */
+    private long appliedCount;
+
+    private final Object appliedLock = new Object();
 
     /**
      * Creates instance of IndexUpdaterThread
@@ -1424,19 +1576,52 @@ public class IndexManager {
       // Check if threshold is set.
       if (updateThreshold > 0) {
         // Create a bounded queue.
-        pendingTasks = new ArrayBlockingQueue(updateThreshold);
+        pendingTasks = new ArrayBlockingQueue<>(updateThreshold);
       } else {
         // Create non-bounded queue.
-        pendingTasks = new LinkedBlockingQueue();
+        pendingTasks = new LinkedBlockingQueue<>();
       }
     }
 
     public void addTask(int action, RegionEntry entry, int opCode) {
-      Object[] task = new Object[3];
+      Object[] task = new Object[4];
       task[0] = action;
       task[1] = entry;
       task[2] = opCode;
+      task[3] = System.nanoTime();
       pendingTasks.add(task);
+      queuedCount.incrementAndGet();
+      asyncUpdateQueueSize.incrementAndGet();
+    }
+
+    long getQueuedCount() {
+      return queuedCount.get();
+    }
+
+    /**
+     * Waits until the given number of tasks has been applied or the deadline has passed.
+     *
+     * @param deadline the deadline in {@link System#nanoTime()} terms
+     * @return true if the tasks have been applied
+     */
+    boolean waitForApplied(long count, long deadline) throws InterruptedException {
+      synchronized (appliedLock) {
+        while (appliedCount < count && this.running) {
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            return false;
+          }
+          TimeUnit.NANOSECONDS.timedWait(appliedLock, remaining);
+        }
+        return appliedCount >= count;
+      }
+    }
+
+    private void applied(int count) {
+      synchronized (appliedLock) {
+        appliedCount += count;
+        appliedLock.notifyAll();
+      }
     }
 
     /**
@@ -1461,6 +1646,7 @@ public class IndexManager {
       // async writers main loop
       // logger.debug("DiskRegion writer started (writer=" + this + ")");
       org.apache.geode.CancelCriterion stopper = ((LocalRegion) region).getCancelCriterion();
+      List<Object[]> batch = new ArrayList<>(ASYNC_INDEX_UPDATE_BATCH_SIZE);
       try {
         while (!this.shutdownRequested) {
           // Termination checks
@@ -1469,17 +1655,28 @@ public class IndexManager {
             break;
           }
           try {
-            Object[] task = (Object[]) pendingTasks.take();
+            Object[] task = pendingTasks.take();
             if (this.shutdownRequested) {
               break;
             }
-            updateIndexes(task);
+            batch.add(task);
+            pendingTasks.drainTo(batch, ASYNC_INDEX_UPDATE_BATCH_SIZE - 1);
+            for (Object[] queuedTask : batch) {
+              updateIndexes(queuedTask);
+            }
+            asyncUpdateQueueSize.addAndGet(-batch.size());
+            asyncUpdateLag = System.nanoTime() - (Long) task[3];
+            applied(batch.size());
+            batch.clear();
           } catch (InterruptedException ignore) {
             return; // give up (exit the thread)
           }
         }
       } finally {
         this.running = false;
+        synchronized (appliedLock) {
+          appliedLock.notifyAll();
+        }
       }
     }
 
@@ -1686,6 +1883,7 @@ public class IndexManager {
             }
           }
           indexes.put(this, index);
+          registerAsyncUpdateStats(index);
           if (region instanceof BucketRegion && prIndex != null) {
             prIndex.addToBucketIndexes(region, index);
             prIndex.incNumBucketIndexes();
@@ -1703,6 +1901,7 @@ public class IndexManager {
         // For PrimaryKey index
         ((AbstractIndex) index).setPopulated(true);
         indexes.put(this, index);
+        registerAsyncUpdateStats(index);
         if (region instanceof BucketRegion && prIndex != null) {
           prIndex.addToBucketIndexes(region, index);
         }
@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.query.internal.index;
 
+import java.util.function.LongSupplier;
+
 import org.apache.geode.StatisticDescriptor;
 import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsFactory;
@@ -43,6 +45,8 @@ public class IndexStats {
   private static final int readLockCountId;
   private static final int numMapIndexKeysId;
   private static final int numBucketIndexesId;
+  private static final int asyncUpdateQueueSizeId;
+  private static final int asyncUpdateLagId;
 
   /** The Statistics object that we delegate most behavior to */
   private final Statistics stats;
@@ -71,7 +75,14 @@ public class IndexStats {
             f.createIntGauge("readLockCount", "Current number of read locks taken.", "uses"),
             f.createLongGauge("numMapIndexKeys", "Number of keys in this Map index", "keys"),
             f.createIntGauge("numBucketIndexes",
-                "Number of bucket indexes in the partitioned region", "indexes"),});
+                "Number of bucket indexes in the partitioned region", "indexes"),
+            f.createLongGauge("asyncUpdateQueueSize",
+                "Current number of queued asynchronous updates of the indexes of the region.",
+                "updates"),
+            f.createLongGauge("asyncUpdateLag",
+                "Time the oldest update of the last batch of asynchronous updates applied to the"
+                    + " indexes of the region was queued.",
+                "nanoseconds"),});
 
     // Initialize id fields
     numKeysId = type.nameToId("numKeys");
@@ -85,6 +96,8 @@ public class IndexStats {
     readLockCountId = type.nameToId("readLockCount");
     numMapIndexKeysId = type.nameToId("numMapIndexKeys");
     numBucketIndexesId = type.nameToId("numBucketIndexes");
+    asyncUpdateQueueSizeId = type.nameToId("asyncUpdateQueueSize");
+    asyncUpdateLagId = type.nameToId("asyncUpdateLag");
   }
 
   /**
@@ -136,6 +149,14 @@ public class IndexStats {
     return stats.getInt(numBucketIndexesId);
   }
 
+  public long getAsyncUpdateQueueSize() {
+    return stats.getLong(asyncUpdateQueueSizeId);
+  }
+
+  public long getAsyncUpdateLag() {
+    return stats.getLong(asyncUpdateLagId);
+  }
+
   public void incNumUpdates() {
     this.stats.incLong(numUpdatesId, 1);
   }
@@ -192,6 +213,15 @@ public class IndexStats {
     this.stats.incInt(numBucketIndexesId, delta);
   }
 
+  /**
+   * Samples the asynchronous update statistics, which are kept by the IndexManager of the region
+   * for all of its indexes, from the given suppliers.
+   */
+  public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {
+    this.stats.setLongSupplier(asyncUpdateQueueSizeId, queueSize);
+    this.stats.setLongSupplier(asyncUpdateLagId, lag);
+  }
+
   /**
    * Closes these stats so that they can not longer be used. The stats are closed when the cache is
    * closed.
@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
@@ -1546,6 +1547,11 @@ public class RangeIndex extends AbstractIndex {
       this.vsdStats.incReadLockCount(delta);
     }
 
+    @Override
+    public void setAsyncUpdateSuppliers(LongSupplier queueSize, LongSupplier lag) {
+      this.vsdStats.setAsyncUpdateSuppliers(queueSize, lag);
+    }
+
     /**
      * Returns the total amount of time (in nanoseconds) spent updating this index.
      */
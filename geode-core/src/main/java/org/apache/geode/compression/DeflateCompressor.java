@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link Compressor} for the deflate codec of the JDK. It trades compression
+ * speed for a higher ratio than {@link SnappyCompressor}.
+ * <p>
+ * Region values are compressed independently, so small values that are similar to each other
+ * compress poorly on their own. A DeflateCompressor may therefore be given a preset dictionary,
+ * typically built with {@link #trainDictionary(Collection, int)} from values sampled from the
+ * region, which both the compressor and the decompressor use as if it preceded every value.
+ * <p>
+ * The dictionary is not distributed or validated between members: each member constructs its own
+ * compressor, and cache.xml and gfsh create it with the no-arg constructor, which uses no
+ * dictionary. Every member hosting a region must therefore construct its DeflateCompressor with an
+ * identical dictionary, for instance with a subclass whose no-arg constructor loads it, which
+ * cache.xml and gfsh can then name. A member whose dictionary differs or is missing cannot
+ * decompress the values compressed by the others. A region's dictionary cannot be changed without
+ * recreating the region, since the values it holds can only be decompressed with the dictionary
+ * they were compressed with.
+ *
+ * @since Geode 1.15
+ */
+public class DeflateCompressor implements Compressor, Serializable {
+  private static final long serialVersionUID = -3383372489553722186L;
+
+  /**
+   * The largest useful dictionary size, which is the size of the deflate window.
+   */
+  public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+  /**
+   * The most idle deflaters and inflaters each instance keeps for reuse. Codecs hold native memory
+   * until they are ended, so a codec released while the pool is full is ended instead of kept.
+   */
+  private static final int MAX_POOLED_CODECS =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private final int level;
+
+  private final byte[] dictionary;
+
+  private transient Queue<Deflater> deflaters;
+
+  private transient Queue<Inflater> inflaters;
+
+  /**
+   * Create a new instance of the DeflateCompressor that favors speed over ratio and uses no
+   * dictionary.
+   */
+  public DeflateCompressor() {
+    this(Deflater.BEST_SPEED, null);
+  }
+
+  /**
+   * Create a new instance of the DeflateCompressor.
+   *
+   * @param level the compression level, from {@link Deflater#BEST_SPEED} to
+   *        {@link Deflater#BEST_COMPRESSION}
+   * @param dictionary the preset dictionary, or null to use none. Only the last
+   *        {@link #MAX_DICTIONARY_SIZE} bytes are used.
+   */
+  public DeflateCompressor(int level, byte[] dictionary) {
+    if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Invalid compression level " + level);
+    }
+    this.level = level;
+    if (dictionary == null || dictionary.length == 0) {
+      this.dictionary = null;
+    } else {
+      this.dictionary = Arrays.copyOfRange(dictionary,
+          Math.max(0, dictionary.length - MAX_DICTIONARY_SIZE), dictionary.length);
+    }
+    initCodecPools();
+  }
+
+  private void initCodecPools() {
+    deflaters = new ArrayBlockingQueue<>(MAX_POOLED_CODECS);
+    inflaters = new ArrayBlockingQueue<>(MAX_POOLED_CODECS);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initCodecPools();
+  }
+
+  /**
+   * Builds a dictionary of at most the given size from sample values. Distinct samples are
+   * concatenated with the earliest samples last, since deflate finds matches at short distances
+   * with fewer bits and the end of the dictionary is closest to the compressed value.
+   *
+   * @param samples values sampled from a region, most representative first
+   * @param maxSize the maximum size of the dictionary
+   * @return the dictionary
+   */
+  public static byte[] trainDictionary(Collection<byte[]> samples, int maxSize) {
+    int limit = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+    Collection<ByteArrayKey> distinct = new LinkedHashSet<>();
+    int size = 0;
+    for (byte[] sample : samples) {
+      if (size >= limit) {
+        break;
+      }
+      if (distinct.add(new ByteArrayKey(sample))) {
+        size += sample.length;
+      }
+    }
+
+    byte[] dictionary = new byte[Math.min(size, limit)];
+    int end = dictionary.length;
+    for (ByteArrayKey sample : distinct) {
+      int length = Math.min(sample.bytes.length, end);
+      System.arraycopy(sample.bytes, 0, dictionary, end - length, length);
+      end -= length;
+      if (end == 0) {
+        break;
+      }
+    }
+    return dictionary;
+  }
+
+  /**
+   * Returns the compression level.
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns a copy of the preset dictionary, or null if none is used.
+   */
+  public byte[] getDictionary() {
+    return dictionary == null ? null : dictionary.clone();
+  }
+
+  @Override
+  public byte[] compress(byte[] input) {
+    Deflater deflater = getDeflater();
+    try {
+      if (dictionary != null) {
+        deflater.setDictionary(dictionary);
+      }
+      deflater.setInput(input);
+      deflater.finish();
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2 + 16);
+      writeLength(output, input.length);
+      byte[] buffer = new byte[Math.max(64, Math.min(input.length, 8192))];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    } finally {
+      releaseDeflater(deflater);
+    }
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    Inflater inflater = getInflater();
+    try {
+      int length = 0;
+      int shift = 0;
+      int offset = 0;
+      byte b;
+      do {
+        if (offset == input.length || shift > 28) {
+          throw new CompressionException("Invalid compressed length");
+        }
+        b = input[offset++];
+        length |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+
+      if (dictionary != null) {
+        inflater.setDictionary(dictionary);
+      }
+      inflater.setInput(input, offset, input.length - offset);
+      byte[] output = new byte[length];
+      int count = 0;
+      while (count < length) {
+        int inflated = inflater.inflate(output, count, length - count);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput()
+            || inflater.needsDictionary())) {
+          throw new CompressionException("Compressed data is truncated");
+        }
+        count += inflated;
+      }
+      return output;
+    } catch (DataFormatException e) {
+      throw new CompressionException(e);
+    } finally {
+      releaseInflater(inflater);
+    }
+  }
+
+  private static void writeLength(ByteArrayOutputStream output, int length) {
+    while ((length & ~0x7F) != 0) {
+      output.write((length & 0x7F) | 0x80);
+      length >>>= 7;
+    }
+    output.write(length);
+  }
+
+  private Deflater getDeflater() {
+    Deflater deflater = deflaters.poll();
+    if (deflater == null) {
+      // raw deflate streams since the length prefix replaces the zlib header and checksum
+      deflater = new Deflater(level, true);
+    }
+    return deflater;
+  }
+
+  private void releaseDeflater(Deflater deflater) {
+    deflater.reset();
+    if (!deflaters.offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  private Inflater getInflater() {
+    Inflater inflater = inflaters.poll();
+    if (inflater == null) {
+      inflater = new Inflater(true);
+    }
+    return inflater;
+  }
+
+  private void releaseInflater(Inflater inflater) {
+    inflater.reset();
+    if (!inflaters.offer(inflater)) {
+      inflater.end();
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * level + Arrays.hashCode(dictionary);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof DeflateCompressor)) {
+      return false;
+    }
+    DeflateCompressor that = (DeflateCompressor) other;
+    return level == that.level && Arrays.equals(dictionary, that.dictionary);
+  }
+
+  private static class ByteArrayKey {
+    private final byte[] bytes;
+
+    private ByteArrayKey(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof ByteArrayKey && Arrays.equals(bytes, ((ByteArrayKey) other).bytes);
+    }
+  }
+}
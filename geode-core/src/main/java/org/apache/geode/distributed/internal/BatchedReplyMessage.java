@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.internal.serialization.DeserializationContext;
+import org.apache.geode.internal.serialization.SerializationContext;
+
+/**
+ * Acknowledges several operations at once. Each processor id stands for a {@link ReplyMessage}
+ * without an exception or return value, and is processed as if such a reply had been received.
+ * Sent by {@link ReplyCoalescer} in place of plain acks to the same member.
+ *
+ * @since Geode 1.15
+ */
+public class BatchedReplyMessage extends HighPriorityDistributionMessage {
+
+  private int[] processorIds;
+
+  public BatchedReplyMessage() {
+    // for deserialization
+  }
+
+  BatchedReplyMessage(int[] processorIds) {
+    this.processorIds = processorIds;
+  }
+
+  int[] getProcessorIds() {
+    return processorIds;
+  }
+
+  /** Like plain ReplyMessages, batches of them are always processed in-line */
+  @Override
+  public boolean getInlineProcess() {
+    return true;
+  }
+
+  @Override
+  protected void process(final ClusterDistributionManager dm) {
+    final long startTime = getTimestamp();
+    RuntimeException failure = null;
+    for (int processorId : processorIds) {
+      ReplyProcessor21 processor = ReplyProcessor21.getProcessor(processorId);
+      if (processor == null) {
+        continue;
+      }
+      ReplyMessage reply = new ReplyMessage();
+      reply.setProcessorId(processorId);
+      reply.setSender(getSender());
+      try {
+        processor.process(reply);
+      } catch (RuntimeException ex) {
+        // keep acknowledging the other operations before failing like a single reply would
+        processor.cancel(getSender(), ex);
+        if (failure == null) {
+          failure = ex;
+        }
+      }
+    }
+    if (DistributionStats.enableClockStats) {
+      dm.getStats().incReplyMessageTime(DistributionStats.getStatTime() - startTime);
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public int getDSFID() {
+    return BATCHED_REPLY_MESSAGE;
+  }
+
+  @Override
+  public void toData(DataOutput out,
+      SerializationContext context) throws IOException {
+    super.toData(out, context);
+    DataSerializer.writeIntArray(processorIds, out);
+  }
+
+  @Override
+  public void fromData(DataInput in,
+      DeserializationContext context) throws IOException, ClassNotFoundException {
+    super.fromData(in, context);
+    processorIds = DataSerializer.readIntArray(in);
+  }
+
+  @Override
+  public String toString() {
+    return getShortClassName() + " processorIds=" + Arrays.toString(processorIds) + " from "
+        + getSender();
+  }
+}
@@ -285,6 +285,10 @@ public class ClusterDistributionManager implements DistributionManager {
 
   private final AlertingService alertingService;
 
+  private final ReplyCoalescer replyCoalescer =
+      ReplyCoalescer.ENABLED ? new ReplyCoalescer(this, () -> getSystem().threadOwnsResources())
+          : null;
+
   private Object membersLock = new Object();
 
   ////////////////////// Static Methods //////////////////////
@@ -1073,6 +1077,13 @@ public class ClusterDistributionManager implements DistributionManager {
     return localAddress;
   }
 
+  /**
+   * Returns the coalescer of the acks sent by this manager, or null if acks are not coalesced.
+   */
+  ReplyCoalescer getReplyCoalescer() {
+    return replyCoalescer;
+  }
+
   @Override
   public Set<InternalDistributedMember> putOutgoing(final DistributionMessage msg) {
     try {
@@ -1896,6 +1907,9 @@ public class ClusterDistributionManager implements DistributionManager {
     }
     logger.info(msg, new Object[] {theId, prettifyReason(reason)});
     executors.handleManagerDeparture(theId);
+    if (replyCoalescer != null) {
+      replyCoalescer.memberDeparted(theId);
+    }
   }
 
   private void handleManagerSuspect(InternalDistributedMember suspect,
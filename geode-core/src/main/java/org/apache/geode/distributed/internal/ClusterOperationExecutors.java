@@ -103,6 +103,20 @@ public class ClusterOperationExecutors implements OperationExecutors {
   private static final int MAX_SERIAL_QUEUE_THREAD =
       Integer.getInteger("DistributionManager.MAX_SERIAL_QUEUE_THREAD", 20);
 
+  /**
+   * Whether the message processing pools run their tasks in virtual threads, if the JDK supports
+   * them. The pool sizes then bound the number of tasks that run at once, and INCOMING_QUEUE_LIMIT
+   * the number of tasks waiting to run, as it bounds the queues of the pools. The serial executors
+   * keep their platform threads since they must process messages in order.
+   * <p>
+   * A virtual thread that blocks inside a synchronized block or in Object.wait pins its carrier
+   * thread, and message processing takes many monitors. If many tasks block like that at once, the
+   * carrier threads (by default as many as there are processors) run out and all virtual threads
+   * stall. Check the jdk.VirtualThreadPinned flight recorder event before enabling this.
+   */
+  private static final boolean USE_VIRTUAL_THREADS =
+      Boolean.getBoolean("DistributionManager.USE_VIRTUAL_THREADS");
+
   // 76 not in use
 
 
@@ -217,20 +231,39 @@ public class ClusterOperationExecutors implements OperationExecutors {
 
     }
 
-    threadPool =
-        CoreLoggingExecutors.newThreadPoolWithFeedStatistics(MAX_THREADS,
-            INCOMING_QUEUE_LIMIT, stats.getOverflowQueueHelper(), "Pooled Message Processor ",
-            thread -> stats.incProcessingThreadStarts(), this::doProcessingThread,
-            stats.getNormalPoolHelper(),
-            threadMonitor);
+    boolean virtualThreads = useVirtualThreads();
+
+    if (virtualThreads) {
+      threadPool = CoreLoggingExecutors.newVirtualThreadPool(MAX_THREADS, INCOMING_QUEUE_LIMIT,
+          "Pooled Message Processor ", this::doProcessingThread, stats.getNormalPoolHelper(),
+          threadMonitor, ThreadsMonitoring.Mode.PooledExecutor);
+    } else {
+      threadPool =
+          CoreLoggingExecutors.newThreadPoolWithFeedStatistics(MAX_THREADS,
+              INCOMING_QUEUE_LIMIT, stats.getOverflowQueueHelper(), "Pooled Message Processor ",
+              thread -> stats.incProcessingThreadStarts(), this::doProcessingThread,
+              stats.getNormalPoolHelper(),
+              threadMonitor);
+    }
 
-    highPriorityPool = CoreLoggingExecutors.newThreadPoolWithFeedStatistics(
-        MAX_THREADS, INCOMING_QUEUE_LIMIT, stats.getHighPriorityQueueHelper(),
-        "Pooled High Priority Message Processor ", thread -> stats.incHighPriorityThreadStarts(),
-        this::doHighPriorityThread, stats.getHighPriorityPoolHelper(),
-        threadMonitor);
+    if (virtualThreads) {
+      highPriorityPool = CoreLoggingExecutors.newVirtualThreadPool(MAX_THREADS,
+          INCOMING_QUEUE_LIMIT, "Pooled High Priority Message Processor ",
+          this::doHighPriorityThread, stats.getHighPriorityPoolHelper(), threadMonitor,
+          ThreadsMonitoring.Mode.PooledExecutor);
+    } else {
+      highPriorityPool = CoreLoggingExecutors.newThreadPoolWithFeedStatistics(
+          MAX_THREADS, INCOMING_QUEUE_LIMIT, stats.getHighPriorityQueueHelper(),
+          "Pooled High Priority Message Processor ", thread -> stats.incHighPriorityThreadStarts(),
+          this::doHighPriorityThread, stats.getHighPriorityPoolHelper(),
+          threadMonitor);
+    }
 
-    {
+    if (virtualThreads) {
+      waitingPool = CoreLoggingExecutors.newVirtualThreadPool(MAX_WAITING_THREADS,
+          Integer.MAX_VALUE, "Pooled Waiting Message Processor ", this::doWaitingThread,
+          stats.getWaitingPoolHelper(), threadMonitor, ThreadsMonitoring.Mode.PooledExecutor);
+    } else {
       BlockingQueue<Runnable> poolQueue;
       if (MAX_WAITING_THREADS == Integer.MAX_VALUE) {
         // no need for a queue since we have infinite threads
@@ -252,7 +285,12 @@ public class ClusterOperationExecutors implements OperationExecutors {
             this::doWaitingThread, stats.getWaitingPoolHelper(),
             threadMonitor);
 
-    if (MAX_PR_THREADS > 1) {
+    if (MAX_PR_THREADS > 1 && virtualThreads) {
+      partitionedRegionPool = CoreLoggingExecutors.newVirtualThreadPool(MAX_PR_THREADS,
+          INCOMING_QUEUE_LIMIT, "PartitionedRegion Message Processor",
+          this::doPartitionRegionThread, stats.getPartitionedRegionPoolHelper(), threadMonitor,
+          ThreadsMonitoring.Mode.PooledExecutor);
+    } else if (MAX_PR_THREADS > 1) {
       partitionedRegionPool =
           CoreLoggingExecutors.newThreadPoolWithFeedStatistics(
               MAX_PR_THREADS, INCOMING_QUEUE_LIMIT, stats.getPartitionedRegionQueueHelper(),
@@ -267,7 +305,11 @@ public class ClusterOperationExecutors implements OperationExecutors {
           thread -> stats.incPartitionedRegionThreadStarts(), this::doPartitionRegionThread,
           stats.getPartitionedRegionPoolHelper(), threadMonitor);
     }
-    if (MAX_FE_THREADS > 1) {
+    if (MAX_FE_THREADS > 1 && virtualThreads) {
+      functionExecutionPool = CoreLoggingExecutors.newFunctionVirtualThreadPool(MAX_FE_THREADS,
+          INCOMING_QUEUE_LIMIT, FUNCTION_EXECUTION_PROCESSOR_THREAD_PREFIX,
+          this::doFunctionExecutionThread, stats.getFunctionExecutionPoolHelper(), threadMonitor);
+    } else if (MAX_FE_THREADS > 1) {
       functionExecutionPool =
           CoreLoggingExecutors.newFunctionThreadPoolWithFeedStatistics(
               MAX_FE_THREADS, INCOMING_QUEUE_LIMIT, stats.getFunctionExecutionQueueHelper(),
@@ -285,6 +327,29 @@ public class ClusterOperationExecutors implements OperationExecutors {
     }
   }
 
+  private static boolean useVirtualThreads() {
+    if (!USE_VIRTUAL_THREADS) {
+      return false;
+    }
+    if (!VirtualThreadPerTaskExecutor.isSupported()) {
+      logger.warn("Virtual threads are not supported by this JDK; message processing will use "
+          + "pooled platform threads.");
+      return false;
+    }
+    logger.info("Message processing will use virtual threads.");
+    return true;
+  }
+
+  /**
+   * Returns the number of tasks that the given message processing executor is running.
+   */
+  static int getActiveCount(ExecutorService executor) {
+    if (executor instanceof VirtualThreadPerTaskExecutor) {
+      return ((VirtualThreadPerTaskExecutor) executor).getTaskCount();
+    }
+    return ((ThreadPoolExecutor) executor).getActiveCount();
+  }
+
   /**
    * Returns the executor for the given type of processor.
    */
@@ -531,7 +596,7 @@ public class ClusterOperationExecutors implements OperationExecutors {
     if (tpe == null) {
       return false;
     } else {
-      int ac = ((ThreadPoolExecutor) tpe).getActiveCount();
+      int ac = getActiveCount(tpe);
       // boolean result = tpe.getActiveCount() > 0;
       if (ac > 0) {
         if (logger.isDebugEnabled()) {
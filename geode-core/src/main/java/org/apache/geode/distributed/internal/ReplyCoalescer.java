@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.serialization.KnownVersion;
+
+/**
+ * Combines plain acks, which carry nothing but the id of a {@link ReplyProcessor21}, that several
+ * threads send to the same member at the same time into a single {@link BatchedReplyMessage}.
+ * <p>
+ * No ack waits for a timer or a batch size: a thread sending an ack while no other ack is being
+ * sent to the same member sends it right away. Acks queued by other threads while that send is in
+ * progress are sent together by the first of those threads once it completes. Every thread returns
+ * only after its ack has been handed to the {@link ReplySender}, so acks are never reordered with
+ * messages that the same thread sends afterwards.
+ * <p>
+ * Acks of threads that own their sockets (conserve-sockets=false) are not coalesced. Such a thread
+ * sends on its own ordered connection, and an ack sent for it on another thread's connection
+ * could overtake messages it sent earlier.
+ *
+ * @since Geode 1.15
+ */
+class ReplyCoalescer {
+  /**
+   * Whether a ClusterDistributionManager coalesces the acks it sends.
+   */
+  static final boolean ENABLED = Boolean.getBoolean("DistributionManager.COALESCE_REPLIES");
+
+  private final ReplySender replySender;
+
+  private final BooleanSupplier threadOwnsResources;
+
+  private final ConcurrentMap<InternalDistributedMember, PendingAcks> pendingAcks =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param threadOwnsResources tells whether the calling thread owns its sockets
+   */
+  ReplyCoalescer(ReplySender replySender, BooleanSupplier threadOwnsResources) {
+    this.replySender = replySender;
+    this.threadOwnsResources = threadOwnsResources;
+  }
+
+  /**
+   * Sends an ack for the given processor to the given member, possibly batched with acks that
+   * other threads are sending to it, and returns once the ack has been sent.
+   *
+   * @return false, without sending anything, if the calling thread owns its sockets and has to
+   *         send the ack itself
+   */
+  boolean sendAck(InternalDistributedMember recipient, int processorId) {
+    if (threadOwnsResources.getAsBoolean()) {
+      return false;
+    }
+    pendingAcks.computeIfAbsent(recipient, k -> new PendingAcks()).send(recipient, processorId);
+    return true;
+  }
+
+  /**
+   * Forgets about a member that left the distributed system.
+   */
+  void memberDeparted(InternalDistributedMember id) {
+    pendingAcks.remove(id);
+  }
+
+  private void sendBatch(InternalDistributedMember recipient, int[] processorIds) {
+    if (processorIds.length > 1
+        && !recipient.getVersion().isOlderThan(KnownVersion.GEODE_1_15_0)) {
+      BatchedReplyMessage batch = new BatchedReplyMessage(processorIds);
+      batch.setRecipient(recipient);
+      replySender.putOutgoing(batch);
+      return;
+    }
+    for (int processorId : processorIds) {
+      ReplyMessage ack = new ReplyMessage();
+      ack.setProcessorId(processorId);
+      ack.setRecipient(recipient);
+      replySender.putOutgoing(ack);
+    }
+  }
+
+  /**
+   * The acks waiting to be sent to one member.
+   */
+  private class PendingAcks {
+    /**
+     * Guarded by this.
+     */
+    private IntArrayList processorIds = new IntArrayList();
+
+    /**
+     * The number of acks that have been queued and that have been sent. Guarded by this.
+     */
+    private long queued;
+    private long sent;
+
+    /**
+     * Whether a thread is sending acks. Guarded by this.
+     */
+    private boolean sending;
+
+    void send(InternalDistributedMember recipient, int processorId) {
+      IntArrayList batch;
+      long batchEnd;
+      boolean interrupted = false;
+      try {
+        synchronized (this) {
+          processorIds.add(processorId);
+          long position = ++queued;
+          while (sending && sent < position) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              // the ack has to be sent anyway
+              interrupted = true;
+            }
+          }
+          if (sent >= position) {
+            return;
+          }
+          sending = true;
+          batch = processorIds;
+          batchEnd = queued;
+          processorIds = new IntArrayList();
+        }
+
+        try {
+          sendBatch(recipient, batch.toIntArray());
+        } finally {
+          synchronized (this) {
+            sent = batchEnd;
+            sending = false;
+            notifyAll();
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -92,6 +92,12 @@ public class ReplyMessage extends HighPriorityDistributionMessage {
   public static void send(InternalDistributedMember recipient, int processorId,
       ReplyException exception, ReplySender dm, boolean internal) {
     Assert.assertTrue(recipient != null, "Sending a ReplyMessage to ALL");
+    if (exception == null && dm instanceof ClusterDistributionManager) {
+      ReplyCoalescer coalescer = ((ClusterDistributionManager) dm).getReplyCoalescer();
+      if (coalescer != null && coalescer.sendAck(recipient, processorId)) {
+        return;
+      }
+    }
     ReplyMessage m = new ReplyMessage();
 
     m.processorId = processorId;
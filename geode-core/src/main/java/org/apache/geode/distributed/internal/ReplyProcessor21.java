@@ -102,6 +102,14 @@ public class ReplyProcessor21 implements MembershipListener {
    */
   protected final InternalDistributedMember[] members;
 
+  /**
+   * The number of members entries that are not null, so that replies can be counted without
+   * scanning members under its lock every time a reply is processed.
+   *
+   * Concurrency: written while synchronized on members
+   */
+  private volatile int remainingMembers;
+
   /**
    * Set to true in preWait, set to false in postWait. Used to avoid removing membership listener in
    * Runnable in postWait if we've called waitForReplies again.
@@ -335,9 +343,14 @@ public class ReplyProcessor21 implements MembershipListener {
     this.members = new InternalDistributedMember[sz];
     if (sz > 0) {
       int i = 0;
+      int remaining = 0;
       for (Iterator it = initMembers.iterator(); it.hasNext(); i++) {
         this.members[i] = (InternalDistributedMember) it.next();
+        if (this.members[i] != null) {
+          remaining++;
+        }
       }
+      this.remainingMembers = remaining;
     }
     this.done = false;
     this.shutdown = false;
@@ -983,6 +996,7 @@ public class ReplyProcessor21 implements MembershipListener {
         InternalDistributedMember e = this.members[i];
         if (e != null && e.equals(m)) {
           this.members[i] = null;
+          this.remainingMembers--;
           // we may be expecting more than one response from a member. so,
           // unless the member left, we only scrub the first occurrence of
           // the member id from the responder list
@@ -997,16 +1011,7 @@ public class ReplyProcessor21 implements MembershipListener {
   }
 
   protected int numMembers() {
-    int sz = 0;
-    synchronized (this.members) {
-      int cells = this.members.length;
-      for (int i = 0; i < cells; i++) {
-        if (this.members[i] != null) {
-          sz++;
-        }
-      }
-    } // synchronized
-    return sz;
+    return this.remainingMembers;
   }
 
   protected boolean waitingOnMember(InternalDistributedMember id) {
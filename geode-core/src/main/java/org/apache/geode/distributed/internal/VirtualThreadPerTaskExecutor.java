@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.internal.monitoring.ThreadsMonitoring;
+import org.apache.geode.logging.internal.executors.LoggingThreadFactory.CommandWrapper;
+import org.apache.geode.logging.internal.executors.LoggingUncaughtExceptionHandler;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * An executor that runs each task in a new virtual thread, for JDKs that support them. Instead of
+ * a bounded number of pooled threads, a semaphore bounds the number of tasks that run at once;
+ * tasks that cannot run yet wait for a permit in their own virtual thread, so blocked tasks do not
+ * hold on to platform threads. Like the work queue of a pool, the number of waiting tasks can be
+ * bounded, in which case the thread that submits a task blocks while too many tasks wait.
+ * <p>
+ * Tasks are reported to the {@link PoolStatHelper} and {@link ThreadsMonitoring} like those of
+ * {@link PooledExecutorWithDMStats}, so the two can be compared. Virtual threads that block while
+ * pinned to their carrier, for instance in a synchronized block, are reported by the JDK's
+ * jdk.VirtualThreadPinned flight recorder event.
+ *
+ * @since Geode 1.15
+ */
+public class VirtualThreadPerTaskExecutor extends AbstractExecutorService {
+  private static final Logger logger = LogService.getLogger();
+
+  private final ThreadFactory threadFactory;
+
+  private final Semaphore permits;
+
+  /**
+   * Bounds the number of tasks waiting for one of the permits, or null.
+   */
+  private final Semaphore waitingPermits;
+
+  private final BooleanSupplier runInCallerWhenSaturated;
+
+  private final CommandWrapper commandWrapper;
+
+  private final PoolStatHelper poolStatHelper;
+
+  private final ThreadsMonitoring threadsMonitoring;
+
+  private final ThreadsMonitoring.Mode monitoringMode;
+
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Guarded by threads.
+   */
+  private boolean shutdown;
+
+  /**
+   * Creates an executor running its tasks in virtual threads named after the given name.
+   *
+   * @param maxConcurrency the maximum number of tasks that run at once, or Integer.MAX_VALUE
+   * @param maxWaitingTasks the maximum number of tasks that wait to run before execute blocks, or
+   *        Integer.MAX_VALUE
+   * @param runInCallerWhenSaturated if not null, and it returns true when a task is submitted
+   *        while the maximum number of tasks is running, the task runs in the submitting thread,
+   *        which avoids deadlocks of tasks waiting for tasks they submitted
+   * @param commandWrapper if not null, will be invoked in the virtual thread of each task
+   * @throws UnsupportedOperationException if the JDK does not support virtual threads
+   */
+  public VirtualThreadPerTaskExecutor(String threadName, int maxConcurrency, int maxWaitingTasks,
+      BooleanSupplier runInCallerWhenSaturated, CommandWrapper commandWrapper,
+      PoolStatHelper poolStatHelper, ThreadsMonitoring threadsMonitoring,
+      ThreadsMonitoring.Mode monitoringMode) {
+    this(createThreadFactory(threadName), maxConcurrency, maxWaitingTasks,
+        runInCallerWhenSaturated, commandWrapper, poolStatHelper, threadsMonitoring,
+        monitoringMode);
+  }
+
+  @VisibleForTesting
+  VirtualThreadPerTaskExecutor(ThreadFactory threadFactory, int maxConcurrency,
+      int maxWaitingTasks, BooleanSupplier runInCallerWhenSaturated,
+      CommandWrapper commandWrapper, PoolStatHelper poolStatHelper,
+      ThreadsMonitoring threadsMonitoring, ThreadsMonitoring.Mode monitoringMode) {
+    this.threadFactory = threadFactory;
+    this.permits = maxConcurrency == Integer.MAX_VALUE ? null : new Semaphore(maxConcurrency);
+    this.waitingPermits = permits == null || maxWaitingTasks == Integer.MAX_VALUE ? null
+        : new Semaphore(Math.max(1, maxWaitingTasks));
+    this.runInCallerWhenSaturated = runInCallerWhenSaturated;
+    this.commandWrapper = commandWrapper;
+    this.poolStatHelper = poolStatHelper;
+    this.threadsMonitoring = threadsMonitoring;
+    this.monitoringMode = monitoringMode;
+  }
+
+  /**
+   * Whether virtual threads can be created. On JDKs where they are a preview API, they are only
+   * supported if preview features are enabled.
+   */
+  private static final boolean SUPPORTED = isSupported(VirtualThreadPerTaskExecutor::ofVirtual);
+
+  /**
+   * Returns true if the JDK supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  /**
+   * Returns true if a virtual thread factory can be built from the builder returned by the given
+   * supplier.
+   */
+  @VisibleForTesting
+  static boolean isSupported(ThreadBuilderSupplier ofVirtual) {
+    try {
+      createThreadFactory(ofVirtual, "VirtualThreadSupportCheck");
+      return true;
+    } catch (UnsupportedOperationException e) {
+      logger.debug("Virtual threads are not supported", e);
+      return false;
+    }
+  }
+
+  /**
+   * Supplies a Thread.Builder.
+   */
+  @VisibleForTesting
+  @FunctionalInterface
+  interface ThreadBuilderSupplier {
+    Object get() throws ReflectiveOperationException;
+  }
+
+  private static Object ofVirtual() throws ReflectiveOperationException {
+    return Thread.class.getMethod("ofVirtual").invoke(null);
+  }
+
+  private static ThreadFactory createThreadFactory(String threadName) {
+    return createThreadFactory(VirtualThreadPerTaskExecutor::ofVirtual, threadName);
+  }
+
+  private static ThreadFactory createThreadFactory(ThreadBuilderSupplier ofVirtual,
+      String threadName) {
+    try {
+      Object builder = ofVirtual.get();
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, threadName, 1L);
+      Method factory = builderClass.getMethod("factory");
+      return (ThreadFactory) factory.invoke(builder);
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      // a preview API throws UnsupportedOperationException unless preview features are enabled
+      throw new UnsupportedOperationException("Virtual threads are not supported by this JDK", e);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    boolean acquired = false;
+    boolean waiting = false;
+    if (permits != null && (runInCallerWhenSaturated != null || waitingPermits != null)) {
+      acquired = permits.tryAcquire();
+      if (!acquired && runInCallerWhenSaturated != null
+          && runInCallerWhenSaturated.getAsBoolean()) {
+        if (isShutdown()) {
+          throw new RejectedExecutionException("executor has been shutdown");
+        }
+        command.run();
+        return;
+      }
+      if (!acquired && waitingPermits != null) {
+        // block like the feeder of a pool whose work queue is full
+        try {
+          waitingPermits.acquire();
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException("interrupted", ie);
+        }
+        waiting = true;
+      }
+    }
+    final boolean hasPermit = acquired;
+    final boolean hasWaitingPermit = waiting;
+    Thread thread =
+        threadFactory.newThread(() -> runTask(command, hasPermit, hasWaitingPermit));
+    LoggingUncaughtExceptionHandler.setOnThread(thread);
+    synchronized (threads) {
+      if (shutdown) {
+        if (hasPermit) {
+          permits.release();
+        }
+        if (hasWaitingPermit) {
+          waitingPermits.release();
+        }
+        throw new RejectedExecutionException("executor has been shutdown");
+      }
+      threads.add(thread);
+    }
+    thread.start();
+  }
+
+  private void runTask(Runnable command, boolean hasPermit, boolean hasWaitingPermit) {
+    boolean permitted = hasPermit;
+    try {
+      if (!permitted && permits != null) {
+        try {
+          permits.acquire();
+          permitted = true;
+        } finally {
+          // no longer waiting, so let the submitter add another task
+          if (hasWaitingPermit) {
+            waitingPermits.release();
+          }
+        }
+      }
+      if (poolStatHelper != null) {
+        poolStatHelper.startJob();
+      }
+      if (threadsMonitoring != null) {
+        threadsMonitoring.startMonitor(monitoringMode);
+      }
+      try {
+        if (commandWrapper != null) {
+          commandWrapper.invoke(command);
+        } else {
+          command.run();
+        }
+      } finally {
+        if (poolStatHelper != null) {
+          poolStatHelper.endJob();
+        }
+        if (threadsMonitoring != null) {
+          threadsMonitoring.endMonitor();
+        }
+      }
+    } catch (InterruptedException e) {
+      // the executor is being shut down so just return
+      if (logger.isDebugEnabled()) {
+        logger.debug("Task interrupted while waiting to run", e);
+      }
+    } finally {
+      if (permitted && permits != null) {
+        permits.release();
+      }
+      synchronized (threads) {
+        threads.remove(Thread.currentThread());
+        if (threads.isEmpty()) {
+          threads.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tasks that are running or waiting to run.
+   */
+  public int getTaskCount() {
+    return threads.size();
+  }
+
+  @Override
+  public void shutdown() {
+    synchronized (threads) {
+      shutdown = true;
+      threads.notifyAll();
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Thread> running;
+    synchronized (threads) {
+      shutdown = true;
+      running = new ArrayList<>(threads);
+    }
+    for (Thread thread : running) {
+      thread.interrupt();
+    }
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    synchronized (threads) {
+      return shutdown;
+    }
+  }
+
+  @Override
+  public boolean isTerminated() {
+    synchronized (threads) {
+      return shutdown && threads.isEmpty();
+    }
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (threads) {
+      while (!shutdown || !threads.isEmpty()) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(threads, remaining);
+      }
+      return true;
+    }
+  }
+}
@@ -63,6 +63,8 @@ public class DiskStoreStats {
   private static final int oplogRecoveriesId;
   private static final int oplogRecoveryTimeId;
   private static final int oplogRecoveredBytesId;
+  private static final int oplogRecoveriesRemainingId;
+  private static final int oplogRecoveryPrefetchedBytesId;
   private static final int bytesReadId;
   private static final int removesId;
   private static final int removeTimeId;
@@ -154,6 +156,11 @@ public class DiskStoreStats {
             f.createIntCounter("oplogRecoveries", oplogRecoveriesDesc, "ops"),
             f.createLongCounter("oplogRecoveryTime", oplogRecoveryTimeDesc, "nanoseconds"),
             f.createLongCounter("oplogRecoveredBytes", oplogRecoveredBytesDesc, "bytes"),
+            f.createIntGauge("oplogRecoveriesRemaining",
+                "The number of oplogs the recovery in progress has not yet read.", "oplogs"),
+            f.createLongCounter("oplogRecoveryPrefetchedBytes",
+                "The total number of oplog bytes read ahead of recovery by prefetch threads.",
+                "bytes"),
             f.createLongCounter("removes", removesDesc, "ops"),
             f.createLongCounter("removeTime", removeTimeDesc, "nanoseconds"),
             f.createIntGauge("queueSize", queueSizeDesc, "entries"),
@@ -223,6 +230,8 @@ public class DiskStoreStats {
     oplogRecoveriesId = type.nameToId("oplogRecoveries");
     oplogRecoveryTimeId = type.nameToId("oplogRecoveryTime");
     oplogRecoveredBytesId = type.nameToId("oplogRecoveredBytes");
+    oplogRecoveriesRemainingId = type.nameToId("oplogRecoveriesRemaining");
+    oplogRecoveryPrefetchedBytesId = type.nameToId("oplogRecoveryPrefetchedBytes");
     removesId = type.nameToId("removes");
     removeTimeId = type.nameToId("removeTime");
     queueSizeId = type.nameToId("queueSize");
@@ -468,6 +477,22 @@ public class DiskStoreStats {
     this.stats.incLong(oplogRecoveredBytesId, bytesRead);
   }
 
+  public void incOplogRecoveriesRemaining(int delta) {
+    this.stats.incInt(oplogRecoveriesRemainingId, delta);
+  }
+
+  public int getOplogRecoveriesRemaining() {
+    return this.stats.getInt(oplogRecoveriesRemainingId);
+  }
+
+  public void incOplogRecoveryPrefetchedBytes(long bytes) {
+    this.stats.incLong(oplogRecoveryPrefetchedBytesId, bytes);
+  }
+
+  public long getOplogRecoveryPrefetchedBytes() {
+    return this.stats.getLong(oplogRecoveryPrefetchedBytesId);
+  }
+
   public void incRecoveredEntryCreates() {
     this.stats.incLong(recoveredEntryCreatesId, 1);
   }
@@ -48,6 +48,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
@@ -462,6 +463,11 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
    */
   private final AtomicBoolean memoryThresholdReached = new AtomicBoolean(false);
 
+  /**
+   * Counts the changes of the entries of this region. Not maintained by bucket regions.
+   */
+  private final LongAdder modificationCount = new LongAdder();
+
   /**
    * Lock for updating PR MetaData on client side
    * <p>
@@ -10174,7 +10180,15 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
   }
 
   void updateSizeOnClearRegion(int sizeBeforeClear) {
-    // Only needed by BucketRegion
+    modificationCount.increment();
+  }
+
+  /**
+   * Returns a count that changes whenever an entry of this region is created, updated, invalidated
+   * or removed, or the region is cleared.
+   */
+  public long getModificationCount() {
+    return modificationCount.sum();
   }
 
   /**
@@ -10195,17 +10209,17 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
 
   @Override
   public void updateSizeOnPut(Object key, int oldSize, int newSize) {
-    // Only needed by BucketRegion
+    modificationCount.increment();
   }
 
   @Override
   public void updateSizeOnCreate(Object key, int newSize) {
-    // Only needed by BucketRegion
+    modificationCount.increment();
   }
 
   @Override
   public void updateSizeOnRemove(Object key, int oldSize) {
-    // Only needed by BucketRegion
+    modificationCount.increment();
   }
 
   // TODO: return value is never used
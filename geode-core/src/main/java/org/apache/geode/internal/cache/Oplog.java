@@ -180,6 +180,17 @@ public class Oplog implements CompactableOplog, Flushable {
   private static final boolean SYNC_WRITES =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "syncWrites");
 
+  /**
+   * This system property changes how {@link #SYNC_WRITES} makes writes durable. Instead of opening
+   * the files with rwd the oplog file is forced, data and meta data, after the write, coalescing
+   * the forces of concurrent writers so each writer does not pay for its own disk sync. It has no
+   * effect unless {@link #SYNC_WRITES} is set too.
+   *
+   * @see OplogGroupCommit
+   */
+  static final boolean GROUP_COMMIT = SYNC_WRITES
+      && Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "syncWritesGroupCommit");
+
   /**
    * The HighWaterMark of recentValues.
    */
@@ -237,6 +248,17 @@ public class Oplog implements CompactableOplog, Flushable {
 
   static final int OPLOG_NEW_ENTRY_BASE_REC_SIZE = 1 + 8 + 1;
 
+  /**
+   * The smallest possible krf entry: key length, one key byte, user bits, value length, disk region
+   * id, oplog key id and offset.
+   */
+  private static final int MIN_KRF_RECORD_SIZE = 7;
+
+  /**
+   * Upper bound for the number of keys the recovery map of one oplog is sized for up front.
+   */
+  private static final int MAX_PRESIZED_RECOVERY_MAP_SIZE = 1 << 24;
+
   /**
    * Written to CRF. The OplogEntryId is +1 the previous new_entry OplogEntryId. Byte Format: 1:
    * userBits RegionId 4: valueLength (optional depending on bits) valueLength: value bytes
@@ -1072,13 +1094,16 @@ public class Oplog implements CompactableOplog, Flushable {
     }
     this.crf.f = f;
     preblow(this.crf, getMaxCrfSize());
-    this.crf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.crf.raf = new UninterruptibleRandomAccessFile(f, openMode());
     this.crf.RAFClosed = false;
     oplogSet.crfCreate(this.oplogId);
     this.crf.writeBuf = allocateWriteBuf(prevOlf);
     logger.info("Created {} {} for disk store {}.",
         new Object[] {toString(), getFileType(this.crf), getParent().getName()});
     this.crf.channel = this.crf.raf.getChannel();
+    if (GROUP_COMMIT) {
+      this.crf.groupCommit = new OplogGroupCommit(this.crf.channel);
+    }
 
     this.stats.incOpenOplogs();
     writeDiskStoreRecord(this.crf, OPLOG_TYPE.CRF);
@@ -1092,6 +1117,10 @@ public class Oplog implements CompactableOplog, Flushable {
     this.maxCrfSize += this.crf.currSize;
   }
 
+  private static String openMode() {
+    return SYNC_WRITES && !GROUP_COMMIT ? "rwd" : "rw";
+  }
+
   private static ByteBuffer allocateWriteBuf(OplogFile prevOlf) {
     if (prevOlf != null && prevOlf.writeBuf != null) {
       ByteBuffer result = prevOlf.writeBuf;
@@ -1112,13 +1141,16 @@ public class Oplog implements CompactableOplog, Flushable {
       logger.debug("Creating operation log file {}", f);
     }
     preblow(this.drf, getMaxDrfSize());
-    this.drf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.drf.raf = new UninterruptibleRandomAccessFile(f, openMode());
     this.drf.RAFClosed = false;
     this.oplogSet.drfCreate(this.oplogId);
     this.drf.writeBuf = allocateWriteBuf(prevOlf);
     logger.info("Created {} {} for disk store {}.",
         new Object[] {toString(), getFileType(this.drf), getParent().getName()});
     this.drf.channel = this.drf.raf.getChannel();
+    if (GROUP_COMMIT) {
+      this.drf.groupCommit = new OplogGroupCommit(this.drf.channel);
+    }
     writeDiskStoreRecord(this.drf, OPLOG_TYPE.DRF);
     writeGemfireVersionRecord(this.drf);
     writeRVVRecord(this.drf, true);
@@ -1611,6 +1643,15 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private OplogEntryIdMap skippedKeyBytes;
 
+  /**
+   * Recovers the live entries of this oplog from its krf. The krf holds the key, disk id and
+   * version tag of each entry in one sequential file, so it already is the key index snapshot of
+   * the oplog. There is no region-wide checkpoint file on top of the krfs. It would duplicate them,
+   * and would have to be invalidated on compaction, RVV exceptions and concurrent writes to stay
+   * consistent with the oplogs.
+   *
+   * @return false if the entries have to be recovered from the crf instead
+   */
   private boolean readKrf(OplogEntryIdSet deletedIds, boolean recoverValues,
       boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
     File f = new File(this.diskFile.getPath() + KRF_FILE_EXT);
@@ -1680,6 +1721,7 @@ public class Oplog implements CompactableOplog, Flushable {
 
         readGemfireVersionRecord(dis, f);
         readTotalCountRecord(dis, f);
+        presizeRecoveryMap(f.length());
         readRVVRecord(dis, f, false, latestOplog);
         long lastOffset = 0;
         byte[] keyBytes = DataSerializer.readByteArray(dis);
@@ -1822,6 +1864,23 @@ public class Oplog implements CompactableOplog, Flushable {
     return true;
   }
 
+  /**
+   * Sizes the recovery map for the keys of the krf being read, so that it is not rehashed over and
+   * over while the keys are added. The total count of the oplog also includes dead records, so the
+   * expected size is bounded by the number of the smallest possible krf records that fit in the
+   * krf.
+   */
+  private void presizeRecoveryMap(long krfLength) {
+    if (this.kvMap == null || this.kvMap.size() != 0) {
+      return;
+    }
+    long expectedSize = Math.min(Math.min(this.totalCount.get(), krfLength / MIN_KRF_RECORD_SIZE),
+        MAX_PRESIZED_RECOVERY_MAP_SIZE);
+    if (expectedSize > 0) {
+      this.kvMap = new OplogEntryIdMap((int) expectedSize);
+    }
+  }
+
   private void validateOpcode(DataInputStream dis, byte expect) throws IOException {
     byte opCode = dis.readByte();
     if (opCode != expect) {
@@ -3251,6 +3310,7 @@ public class Oplog implements CompactableOplog, Flushable {
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (this.lock/* crf */) {
       unpreblow(this.crf, getMaxCrfSize());
+      groupCommitBeforeClose(this.crf);
       if (!this.crf.RAFClosed) {
         try {
           this.crf.channel.close();
@@ -3269,6 +3329,7 @@ public class Oplog implements CompactableOplog, Flushable {
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (this.lock/* drf */) {
       unpreblow(this.drf, getMaxDrfSize());
+      groupCommitBeforeClose(this.drf);
       if (!this.drf.RAFClosed) {
         try {
           this.drf.channel.close();
@@ -3579,7 +3640,7 @@ public class Oplog implements CompactableOplog, Flushable {
           id.setOplogId(getOplogId());
           // do the io while holding lock so that switch can set doneAppending
           // Write the data to the opLog for the synch mode
-          startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+          startPosForSynchOp = writeOpLogBytes(this.crf, async, true, true);
           // if (this.crf.currSize != startPosForSynchOp) {
           // assert false;
           // }
@@ -3642,6 +3703,7 @@ public class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(this != getOplogSet().getChild());
       getOplogSet().getChild().basicCreate(dr, entry, value, userBits, async);
     } else {
+      groupCommit(this.crf, async);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -3772,6 +3834,7 @@ public class Oplog implements CompactableOplog, Flushable {
           closeRAF();
           // I think at this point the drf no longer needs to be open
           synchronized (Oplog.this.lock/* drf */) {
+            groupCommitBeforeClose(Oplog.this.drf);
             if (!Oplog.this.drf.RAFClosed) {
               try {
                 Oplog.this.drf.channel.close();
@@ -4548,7 +4611,7 @@ public class Oplog implements CompactableOplog, Flushable {
             long oldOplogId;
             // do the io while holding lock so that switch can set doneAppending
             // Write the data to the opLog for the synch mode
-            startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.crf, async, true, true);
             this.crf.currSize = temp;
             startPosForSynchOp += getOpStateValueOffset();
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
@@ -4626,6 +4689,7 @@ public class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicModify(dr, entry, value, userBits, async, calledByCompactor);
     } else {
+      groupCommit(this.crf, async);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -4673,7 +4737,7 @@ public class Oplog implements CompactableOplog, Flushable {
               throw cce;
             }
             this.firstRecord = false;
-            writeOpLogBytes(this.crf, async, true);
+            writeOpLogBytes(this.crf, async, true, true);
             this.crf.currSize = temp;
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.trace(LogMarker.PERSIST_WRITES_VERBOSE,
@@ -4701,6 +4765,8 @@ public class Oplog implements CompactableOplog, Flushable {
       }
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicSaveConflictVersionTag(dr, tag, async);
+    } else {
+      groupCommit(this.crf, async);
     }
   }
 
@@ -5021,7 +5087,7 @@ public class Oplog implements CompactableOplog, Flushable {
             // before we flush the crf.
             // However we can't have removes by async if we are doing a sync write
             // because we might be killed right after we do this write.
-            startPosForSynchOp = writeOpLogBytes(this.drf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.drf, async, true, true);
             setHasDeletes(true);
             if (logger.isDebugEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.debug("basicRemove: id=<{}> key=<{}> drId={} oplog#{}", abs(id.getKeyId()),
@@ -5060,6 +5126,7 @@ public class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicRemove(dr, entry, async, isClear);
     } else {
+      groupCommit(this.drf, async);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -5145,6 +5212,9 @@ public class Oplog implements CompactableOplog, Flushable {
           // 41201
           olf.bytesFlushed += flushed;
           bb.clear();
+          if (olf.groupCommit != null) {
+            olf.groupCommit.written(olf.channel.position());
+          }
         }
         if (doSync) {
           if (SYNC_WRITES) {
@@ -5182,6 +5252,9 @@ public class Oplog implements CompactableOplog, Flushable {
         // update bytesFlushed after entire writeBuffer is flushed to fix bug 41201
         olf.bytesFlushed += flushed;
         b1.clear();
+        if (olf.groupCommit != null) {
+          olf.groupCommit.written(olf.channel.position());
+        }
       }
     } catch (ClosedChannelException ignore) {
       // It is possible for a channel to be closed when our code does not
@@ -5192,6 +5265,42 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Makes the synchronous writes done so far to the given file durable when {@link #GROUP_COMMIT}
+   * is enabled. Must be called without holding the oplog lock for concurrent writers to share the
+   * sync.
+   */
+  private void groupCommit(OplogFile olf, boolean async) {
+    if (async || olf.groupCommit == null) {
+      return;
+    }
+    try {
+      // A channel closed by an oplog close has been synced first, see groupCommitBeforeClose, so
+      // a ClosedChannelException here means the record may not be durable.
+      olf.groupCommit.sync();
+    } catch (IOException ex) {
+      getParent().getCancelCriterion().checkCancelInProgress(ex);
+      throw new DiskAccessException(
+          String.format("Failed syncing %s", olf.f.getPath()), ex, getParent());
+    }
+  }
+
+  /**
+   * Makes everything written to the given file durable before it is closed, so that writers still
+   * waiting in {@link #groupCommit(OplogFile, boolean)} do not need its channel anymore. If this
+   * fails those writers try to sync themselves and fail with a {@link DiskAccessException}.
+   */
+  private void groupCommitBeforeClose(OplogFile olf) {
+    if (olf.groupCommit == null || olf.RAFClosed) {
+      return;
+    }
+    try {
+      olf.groupCommit.sync();
+    } catch (IOException ignore) {
+      // reported to the waiting writers
+    }
+  }
+
   public void flushAll() {
     flushAll(false);
   }
@@ -5233,6 +5342,17 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   private long writeOpLogBytes(OplogFile olf, boolean async, boolean doFlushIfSync)
       throws IOException {
+    return writeOpLogBytes(olf, async, doFlushIfSync, false);
+  }
+
+  /**
+   * Same as {@link #writeOpLogBytes(OplogFile, boolean, boolean)} but when {@link #GROUP_COMMIT}
+   * is enabled and deferGroupCommit is true a synchronous write is only flushed to the channel. The
+   * caller must then call {@link #groupCommit(OplogFile, boolean)} once it has released the oplog
+   * lock so that the sync can be shared with other writers.
+   */
+  private long writeOpLogBytes(OplogFile olf, boolean async, boolean doFlushIfSync,
+      boolean deferGroupCommit) throws IOException {
     long startPos = -1L;
     getParent().getBackupLock().lock();
     try {
@@ -5257,7 +5377,14 @@ public class Oplog implements CompactableOplog, Flushable {
         // " was not > lastWritePos=" + lastWritePos);
         long bytesWritten = this.opState.write(olf);
         if (!async && doFlushIfSync) {
-          flushAndSync(olf);
+          if (olf.groupCommit != null) {
+            flushAllNoSync(false);
+            if (!deferGroupCommit) {
+              olf.groupCommit.sync();
+            }
+          } else {
+            flushAndSync(olf);
+          }
         }
         getStats().incWrittenBytes(bytesWritten, async);
 
@@ -5291,6 +5418,7 @@ public class Oplog implements CompactableOplog, Flushable {
       if (this.crf.RAFClosed) {
         return false;
       } else {
+        groupCommitBeforeClose(this.crf);
         try {
           this.crf.raf.close();
         } catch (IOException ignore) {
@@ -6500,6 +6628,7 @@ public class Oplog implements CompactableOplog, Flushable {
     public long currSize;
     public long bytesFlushed;
     public boolean unpreblown;
+    public OplogGroupCommit groupCommit;
   }
 
   private static class KRFile {
@@ -7705,12 +7834,22 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   static class OplogEntryIdMap {
 
-    private final Int2ObjectOpenHashMap ints =
-        new Int2ObjectOpenHashMap((int) DiskStoreImpl.INVALID_ID);
+    private final Int2ObjectOpenHashMap ints;
 
     private final Long2ObjectOpenHashMap longs =
         new Long2ObjectOpenHashMap((int) DiskStoreImpl.INVALID_ID);
 
+    OplogEntryIdMap() {
+      this((int) DiskStoreImpl.INVALID_ID);
+    }
+
+    /**
+     * @param expectedSize the number of ids in the unsigned int range this map is expected to hold
+     */
+    OplogEntryIdMap(int expectedSize) {
+      this.ints = new Int2ObjectOpenHashMap(expectedSize);
+    }
+
     public Object put(long id, Object v) {
       Object result;
       if (id == 0) {
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.IOException;
+
+import org.apache.geode.internal.cache.persistence.UninterruptibleFileChannel;
+
+/**
+ * Coalesces the syncs of concurrent synchronous writers to one oplog file. A writer appends its
+ * record to the channel and then calls {@link #sync()}. If no sync is in progress the writer
+ * forces the channel itself, which also makes every record written by other threads before the
+ * force durable. Writers that arrive while a force is running wait for it and only force again if
+ * their record was written after the running force started.
+ * <p>
+ * The force is done without holding the oplog lock, so other writers keep appending while the
+ * disk is busy and the next force covers all of them.
+ *
+ * @since Geode 1.15
+ */
+class OplogGroupCommit {
+  private final UninterruptibleFileChannel channel;
+
+  /**
+   * The channel position after the last completed write. Only advanced while holding the oplog
+   * lock.
+   */
+  private volatile long writtenPosition;
+
+  /**
+   * Every byte before this position is known to be durable. Guarded by this.
+   */
+  private long syncedPosition;
+
+  /**
+   * True while a thread is forcing the channel. Guarded by this.
+   */
+  private boolean syncing;
+
+  private long syncCount;
+
+  OplogGroupCommit(UninterruptibleFileChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Records that everything before the given channel position has been written.
+   */
+  void written(long position) {
+    if (position > writtenPosition) {
+      writtenPosition = position;
+    }
+  }
+
+  long getWrittenPosition() {
+    return writtenPosition;
+  }
+
+  synchronized long getSyncedPosition() {
+    return syncedPosition;
+  }
+
+  /**
+   * Returns how many times the channel has been forced.
+   */
+  synchronized long getSyncCount() {
+    return syncCount;
+  }
+
+  /**
+   * Blocks until everything written before this call is durable.
+   */
+  void sync() throws IOException {
+    sync(writtenPosition);
+  }
+
+  /**
+   * Blocks until everything before the given channel position is durable.
+   */
+  void sync(long targetPosition) throws IOException {
+    boolean interrupted = Thread.interrupted();
+    try {
+      synchronized (this) {
+        while (syncing && syncedPosition < targetPosition) {
+          try {
+            wait();
+          } catch (InterruptedException ignore) {
+            interrupted = true;
+          }
+        }
+        if (syncedPosition >= targetPosition) {
+          return;
+        }
+        syncing = true;
+      }
+      long position = writtenPosition;
+      boolean synced = false;
+      try {
+        // meta data too, like the rwd mode used without group commit
+        channel.force(true);
+        synced = true;
+      } finally {
+        synchronized (this) {
+          syncing = false;
+          if (synced) {
+            syncCount++;
+            if (position > syncedPosition) {
+              syncedPosition = position;
+            }
+          }
+          notifyAll();
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Reads oplog files ahead of disk store recovery so that the recovery thread finds them in the
+ * operating system's page cache. Recovery itself still parses the oplogs one at a time in oplog
+ * order, since the drf and crf records of different oplogs must be applied newest first. Only the
+ * I/O is done in parallel, by a small pool of threads that each read a whole file.
+ * <p>
+ * The files are given in the order recovery will read them. When recovery moves to file
+ * {@code n}, {@link #advance(int)} makes sure the files up to {@code n + lookahead} are being
+ * read. Failures to prefetch are logged and otherwise ignored, since recovery reads the file
+ * again anyway.
+ *
+ * @since Geode 1.15
+ */
+class OplogRecoveryPrefetcher implements AutoCloseable {
+  private static final Logger logger = LogService.getLogger();
+
+  static final int RECOVERY_PREFETCH_THREADS = Integer
+      .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "DiskStore.RECOVERY_PREFETCH_THREADS",
+          Math.min(4, Runtime.getRuntime().availableProcessors()));
+  static final int RECOVERY_PREFETCH_OPLOGS = Integer
+      .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "DiskStore.RECOVERY_PREFETCH_OPLOGS", 4);
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+
+  private final List<File> files;
+  private final int lookahead;
+  private final ExecutorService executor;
+  private final LongConsumer bytesPrefetched;
+  private final List<Future<?>> tasks = new ArrayList<>();
+
+  /**
+   * Creates a prefetcher for the given files, or returns null if prefetching is disabled or there
+   * is nothing to read ahead of.
+   */
+  static OplogRecoveryPrefetcher create(List<File> files, LongConsumer bytesPrefetched) {
+    if (RECOVERY_PREFETCH_THREADS <= 0 || RECOVERY_PREFETCH_OPLOGS <= 0 || files.size() < 2) {
+      return null;
+    }
+    return new OplogRecoveryPrefetcher(files, RECOVERY_PREFETCH_OPLOGS,
+        LoggingExecutors.newFixedThreadPool(RECOVERY_PREFETCH_THREADS, "Oplog Recovery Prefetch",
+            true),
+        bytesPrefetched);
+  }
+
+  OplogRecoveryPrefetcher(List<File> files, int lookahead, ExecutorService executor,
+      LongConsumer bytesPrefetched) {
+    this.files = files;
+    this.lookahead = lookahead;
+    this.executor = executor;
+    this.bytesPrefetched = bytesPrefetched;
+  }
+
+  /**
+   * Called when recovery starts reading the file at the given index. The file itself is not
+   * scheduled unless it already was; recovery reading it directly is as fast as a prefetch.
+   */
+  void advance(int index) {
+    int end = Math.min(files.size(), index + lookahead + 1);
+    for (int i = Math.max(tasks.size(), index + 1); i < end; i++) {
+      while (tasks.size() < i) {
+        tasks.add(null);
+      }
+      File file = files.get(i);
+      tasks.add(file == null ? null : executor.submit(() -> prefetch(file)));
+    }
+  }
+
+  int getScheduledCount() {
+    int count = 0;
+    for (Future<?> task : tasks) {
+      if (task != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void prefetch(File file) {
+    long bytesRead = 0;
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(file)) {
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        bytesRead += count;
+        if (Thread.currentThread().isInterrupted()) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      logger.debug("Could not prefetch {} for recovery", file, e);
+    } finally {
+      bytesPrefetched.accept(bytesRead);
+    }
+  }
+
+  /**
+   * Stops all prefetching that is still in progress.
+   */
+  @Override
+  public void close() {
+    for (Future<?> task : tasks) {
+      if (task != null) {
+        task.cancel(true);
+      }
+    }
+    executor.shutdownNow();
+  }
+}
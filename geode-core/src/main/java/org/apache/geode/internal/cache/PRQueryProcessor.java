@@ -72,8 +72,19 @@ public class PRQueryProcessor {
 
   static final int BUCKET_QUERY_TIMEOUT = 60;
 
-  public static final int NUM_THREADS =
-      getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PRQueryProcessor.numThreads", 1);
+  /**
+   * The number of threads querying the local buckets of a partitioned region in parallel. If it is
+   * set to 0 or less one thread per available processor is used.
+   * <p>
+   * Only the degree of parallelism is chosen here: each local bucket is still queried as a whole
+   * by one thread, and ORDER BY, LIMIT and aggregates are applied per bucket and then merged by the
+   * coordinator as before. Scans of replicated regions, and the sorting and aggregation of a single
+   * bucket, are not split across threads. Splitting them needs the compiled query, whose
+   * RuntimeIterators are bound to one ExecutionContext, to be compiled per task, which is deferred.
+   */
+  public static final int NUM_THREADS = resolveNumThreads(
+      getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PRQueryProcessor.numThreads", 1),
+      Runtime.getRuntime().availableProcessors());
 
   /* For Test purpose */
   @MutableForTesting
@@ -126,6 +137,13 @@ public class PRQueryProcessor {
     return this.resultType.isStructType();
   }
 
+  static int resolveNumThreads(int numThreads, int availableProcessors) {
+    if (numThreads > 0) {
+      return numThreads;
+    }
+    return Math.max(1, availableProcessors);
+  }
+
   private void executeWithThreadPool(Collection<Collection> resultCollector)
       throws QueryException, InterruptedException, ForceReattemptException {
     if (Thread.interrupted())
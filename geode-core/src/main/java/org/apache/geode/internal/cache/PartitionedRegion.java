@@ -41,6 +41,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -293,6 +295,18 @@ public class PartitionedRegion extends LocalRegion
 
   private final DiskRegionStats diskRegionStats;
 
+  /**
+   * The maximum number of threads populating the indexes of the local buckets when indexes are
+   * created. 1 populates the buckets one after the other on the creating thread.
+   */
+  static final int INDEX_POPULATION_THREADS = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "PartitionedRegion.INDEX_POPULATION_THREADS",
+      Runtime.getRuntime().availableProcessors());
+
+  /* For Test purpose */
+  @MutableForTesting
+  static int TEST_INDEX_POPULATION_THREADS = 0;
+
   /**
    * Changes scope of replication to secondary bucket to SCOPE.DISTRIBUTED_NO_ACK
    */
@@ -8583,6 +8597,7 @@ public class PartitionedRegion extends LocalRegion
     boolean throwException = false;
     if (getDataStore() != null && indexes.size() > 0) {
       Set localBuckets = getDataStore().getAllLocalBuckets();
+      List<Callable<Map<String, Exception>>> populations = new ArrayList<>(localBuckets.size());
       Iterator it = localBuckets.iterator();
       while (it.hasNext()) {
         Map.Entry entry = (Map.Entry) it.next();
@@ -8593,10 +8608,19 @@ public class PartitionedRegion extends LocalRegion
         }
         IndexManager bucketIndexManager = IndexUtils.getIndexManager(cache, bucket, true);
         Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
-        try {
-          bucketIndexManager.populateIndexes(bucketIndexes);
-        } catch (MultiIndexCreationException ex) {
-          exceptionsMap.putAll(ex.getExceptionsMap());
+        // all indexes of a bucket are populated in one pass over its entries
+        populations.add(() -> {
+          try {
+            bucketIndexManager.populateIndexes(bucketIndexes);
+            return null;
+          } catch (MultiIndexCreationException ex) {
+            return ex.getExceptionsMap();
+          }
+        });
+      }
+      for (Map<String, Exception> exceptions : populateBucketIndexes(populations)) {
+        if (exceptions != null) {
+          exceptionsMap.putAll(exceptions);
           throwException = true;
         }
       }
@@ -8604,6 +8628,59 @@ public class PartitionedRegion extends LocalRegion
     return throwException;
   }
 
+  /**
+   * Runs the given bucket index populations, in parallel if there are several buckets and
+   * {@link #INDEX_POPULATION_THREADS} allows it. The indexes of each bucket are independent of
+   * those of other buckets.
+   *
+   * @return the exceptions of each population, or null for a population without exceptions
+   */
+  private List<Map<String, Exception>> populateBucketIndexes(
+      List<Callable<Map<String, Exception>>> populations) {
+    List<Map<String, Exception>> results = new ArrayList<>(populations.size());
+    int threads = Math.min(
+        TEST_INDEX_POPULATION_THREADS > 0 ? TEST_INDEX_POPULATION_THREADS
+            : INDEX_POPULATION_THREADS,
+        populations.size());
+    if (threads <= 1) {
+      for (Callable<Map<String, Exception>> population : populations) {
+        try {
+          results.add(population.call());
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new InternalGemFireException(e);
+        }
+      }
+      return results;
+    }
+    ExecutorService executor =
+        LoggingExecutors.newWorkStealingPool("Index Population Thread ", threads);
+    try {
+      for (Future<Map<String, Exception>> future : executor.invokeAll(populations)) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          throw new InternalGemFireException(cause);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      getCancelCriterion().checkCancelInProgress(e);
+      throw new InternalGemFireException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+    return results;
+  }
+
   private Set<Index> getBucketIndexesForPRIndexes(Region bucket, Set<Index> indexes) {
     Set<Index> bucketIndexes = new HashSet<Index>();
     for (Index ind : indexes) {
@@ -455,37 +455,62 @@ public class PersistentOplogSet implements OplogSet {
 
     if (!oplogSet.isEmpty()) {
       long startOpLogRecovery = System.currentTimeMillis();
-
-      // first figure out all entries that have been destroyed
-      boolean latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+      DiskStoreStats stats = parent.getStats();
+      int oplogsRemaining = oplogSet.size();
+      stats.incOplogRecoveriesRemaining(oplogsRemaining);
+      try {
+        // first figure out all entries that have been destroyed
+        boolean latestOplog = true;
+        int index = 0;
+        try (OplogRecoveryPrefetcher prefetcher =
+            OplogRecoveryPrefetcher.create(getDrfFiles(oplogSet),
+                stats::incOplogRecoveryPrefetchedBytes)) {
+          for (Oplog oplog : oplogSet) {
+            if (prefetcher != null) {
+              prefetcher.advance(index++);
+            }
+            byteCount +=
+                oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
+            latestOplog = false;
+            if (!getAlreadyRecoveredOnce().get()) {
+              updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+            }
+          }
         }
-      }
-
-      parent.incDeadRecordCount(deletedIds.size());
 
-      // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
-            getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
-        }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+        parent.incDeadRecordCount(deletedIds.size());
 
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+        // now figure out live entries
+        latestOplog = true;
+        index = 0;
+        try (OplogRecoveryPrefetcher prefetcher =
+            OplogRecoveryPrefetcher.create(getKeyFiles(oplogSet),
+                stats::incOplogRecoveryPrefetchedBytes)) {
+          for (Oplog oplog : oplogSet) {
+            if (prefetcher != null) {
+              prefetcher.advance(index++);
+            }
+            long startOpLogRead = stats.startOplogRead();
+            long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
+                getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
+            latestOplog = false;
+            if (!getAlreadyRecoveredOnce().get()) {
+              updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+            }
+            byteCount += bytesRead;
+            stats.endOplogRead(startOpLogRead, bytesRead);
+            stats.incOplogRecoveriesRemaining(-1);
+            oplogsRemaining--;
+
+            // Callback to the disk regions to indicate the oplog is recovered
+            // Used for offline export
+            for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
+              drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+            }
+          }
         }
+      } finally {
+        stats.incOplogRecoveriesRemaining(-oplogsRemaining);
       }
 
       long endOpLogRecovery = System.currentTimeMillis();
@@ -537,6 +562,30 @@ public class PersistentOplogSet implements OplogSet {
     return byteCount;
   }
 
+  /**
+   * Returns the drf file of each oplog, in the order the drfs are recovered.
+   */
+  private static List<File> getDrfFiles(Collection<Oplog> oplogs) {
+    List<File> files = new ArrayList<>(oplogs.size());
+    for (Oplog oplog : oplogs) {
+      files.add(oplog.getDrfFile());
+    }
+    return files;
+  }
+
+  /**
+   * Returns the file the keys of each oplog are recovered from, in the order the oplogs are
+   * recovered. That is the krf if the oplog has one and the crf otherwise.
+   */
+  private static List<File> getKeyFiles(Collection<Oplog> oplogs) {
+    List<File> files = new ArrayList<>(oplogs.size());
+    for (Oplog oplog : oplogs) {
+      File krf = oplog.getKrfFile();
+      files.add(oplog.hasKrf() && krf.exists() ? krf : oplog.getCrfFile());
+    }
+    return files;
+  }
+
   private boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
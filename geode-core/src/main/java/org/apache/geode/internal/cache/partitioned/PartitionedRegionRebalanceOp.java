@@ -82,6 +82,9 @@ public class PartitionedRegionRebalanceOp {
 
   private static final int MAX_PARALLEL_OPERATIONS =
       Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_RECOVERIES", 8);
+  private static final int MAX_PARALLEL_OPERATIONS_PER_MEMBER = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_RECOVERIES_PER_MEMBER",
+      MAX_PARALLEL_OPERATIONS);
   private final boolean DEBUG =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "LOG_REBALANCE");
 
@@ -194,6 +197,7 @@ public class PartitionedRegionRebalanceOp {
       Map<PartitionedRegion, InternalPRInfo> detailsMap = fetchDetails(cache);
       BucketOperatorWrapper serialOperator = getBucketOperator(detailsMap);
       ParallelBucketOperator parallelOperator = new ParallelBucketOperator(MAX_PARALLEL_OPERATIONS,
+          MAX_PARALLEL_OPERATIONS_PER_MEMBER,
           cache.getDistributionManager().getExecutors().getWaitingThreadPool(), serialOperator);
       loadModel = buildModel(parallelOperator, detailsMap, resourceManager);
       for (PartitionRebalanceDetailsImpl details : serialOperator.getDetailSet()) {
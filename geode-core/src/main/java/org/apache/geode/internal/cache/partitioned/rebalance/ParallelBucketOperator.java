@@ -14,7 +14,10 @@
  */
 package org.apache.geode.internal.cache.partitioned.rebalance;
 
+import java.util.ArrayDeque;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
@@ -39,6 +42,11 @@ import org.apache.geode.distributed.internal.membership.InternalDistributedMembe
  *
  * Note that only createRedundantBucket is asynchronous, the rest of the operations are synchronous.
  *
+ * The number of operations running concurrently is bounded overall and, so that a single member is
+ * not flooded with bucket creations while the other members idle, per target member. An operation
+ * for a member that already runs its limit of operations is deferred without blocking the caller,
+ * and is run by the thread of the next operation on that member to finish.
+ *
  */
 public class ParallelBucketOperator implements BucketOperator {
 
@@ -46,6 +54,9 @@ public class ParallelBucketOperator implements BucketOperator {
   private final ExecutorService executor;
   private final Semaphore operationSemaphore;
   private final int maxParallelOperations;
+  private final int maxParallelOperationsPerMember;
+  private final Map<InternalDistributedMember, MemberOperations> memberOperations =
+      new ConcurrentHashMap<>();
   private final ConcurrentLinkedQueue<Completion> pendingSuccess =
       new ConcurrentLinkedQueue<BucketOperator.Completion>();
   private final ConcurrentLinkedQueue<Completion> pendingFailure =
@@ -64,7 +75,27 @@ public class ParallelBucketOperator implements BucketOperator {
    */
   public ParallelBucketOperator(int maxParallelOperations, ExecutorService executor,
       BucketOperator operator) {
+    this(maxParallelOperations, maxParallelOperations, executor, operator);
+  }
+
+  /**
+   * Create a parallel bucket operator that also limits the operations per target member
+   *
+   * @param maxParallelOperations The number of operations that can execute concurrently. Futher
+   *        calls to createRedundantBucket will block.
+   * @param maxParallelOperationsPerMember The number of operations that can execute concurrently
+   *        on one target member. Further operations for that member are deferred until one of them
+   *        is done.
+   * @param executor the executor to submit tasks to. This executor should be able to create at
+   *        least maxParallelOperations threads.
+   * @param operator A bucket operator that is synchronous that will do the actual work of creating
+   *        a bucket.
+   */
+  public ParallelBucketOperator(int maxParallelOperations, int maxParallelOperationsPerMember,
+      ExecutorService executor, BucketOperator operator) {
     this.maxParallelOperations = maxParallelOperations;
+    this.maxParallelOperationsPerMember =
+        Math.max(1, Math.min(maxParallelOperationsPerMember, maxParallelOperations));
     this.operationSemaphore = new Semaphore(maxParallelOperations);
     this.delegate = operator;
     this.executor = executor;
@@ -73,7 +104,8 @@ public class ParallelBucketOperator implements BucketOperator {
   /**
    * Create a redundant bucket asynchronously. If maxParallelOperations is not reached, this call
    * will submit a task and return immediately. Otherwise, it will block until an executor thread is
-   * available to take a task.
+   * available to take a task. If the target member already runs maxParallelOperationsPerMember
+   * operations, the operation is deferred and this call returns immediately.
    *
    * The completion will not be notified until the caller makes another call to createRedundant
    * bucket or waitForOperations.
@@ -83,33 +115,60 @@ public class ParallelBucketOperator implements BucketOperator {
       final int bucketId, final Map<String, Long> colocatedRegionBytes,
       final Completion completion) {
     drainCompletions();
+    final MemberOperations member =
+        memberOperations.computeIfAbsent(targetMember, k -> new MemberOperations());
+    final Runnable operation = () -> {
+      try {
+        delegate.createRedundantBucket(targetMember, bucketId, colocatedRegionBytes,
+            new Completion() {
+              @Override
+              public void onSuccess() {
+                pendingSuccess.add(completion);
+              }
+
+              @Override
+              public void onFailure() {
+                pendingFailure.add(completion);
+              }
+            });
+      } catch (CancelException e) {
+        // ignore
+      } catch (RegionDestroyedException e) {
+        // ignore
+      }
+    };
     operationSemaphore.acquireUninterruptibly();
-    executor.execute(new Runnable() {
-      @Override
-      public void run() {
+    if (member.start(operation)) {
+      executor.execute(() -> runOperations(member, operation));
+    } else {
+      // runs with the permit of the operation on the member that finishes next
+      operationSemaphore.release();
+    }
+  }
+
+  /**
+   * Runs the given operation and then the operations deferred for the same member, holding one
+   * operation permit throughout.
+   */
+  private void runOperations(MemberOperations member, Runnable first) {
+    Runnable operation = first;
+    try {
+      while (operation != null) {
         try {
-          delegate.createRedundantBucket(targetMember, bucketId, colocatedRegionBytes,
-              new Completion() {
-                @Override
-                public void onSuccess() {
-                  pendingSuccess.add(completion);
-                }
-
-                @Override
-                public void onFailure() {
-                  pendingFailure.add(completion);
-                }
-              });
-        } catch (CancelException e) {
-          // ignore
-        } catch (RegionDestroyedException e) {
-          // ignore
+          operation.run();
         } finally {
-          operationSemaphore.release();
+          operation = member.operationFinished();
         }
       }
-    });
-
+    } finally {
+      if (operation != null) {
+        // an operation failed, so hand the deferred ones and the permit to another thread
+        final Runnable next = operation;
+        executor.execute(() -> runOperations(member, next));
+      } else {
+        operationSemaphore.release();
+      }
+    }
   }
 
   @Override
@@ -168,4 +227,38 @@ public class ParallelBucketOperator implements BucketOperator {
     }
   }
 
+  /**
+   * The operations running and deferred on one target member.
+   */
+  private class MemberOperations {
+    /**
+     * Guarded by this.
+     */
+    private int running;
+    private final Queue<Runnable> deferred = new ArrayDeque<>();
+
+    /**
+     * @return true if the operation can start now, false if it was deferred
+     */
+    synchronized boolean start(Runnable operation) {
+      if (running < maxParallelOperationsPerMember) {
+        running++;
+        return true;
+      }
+      deferred.add(operation);
+      return false;
+    }
+
+    /**
+     * @return the deferred operation to run next in place of the finished one, or null if there is
+     *         none
+     */
+    synchronized Runnable operationFinished() {
+      Runnable next = deferred.poll();
+      if (next == null) {
+        running--;
+      }
+      return next;
+    }
+  }
 }
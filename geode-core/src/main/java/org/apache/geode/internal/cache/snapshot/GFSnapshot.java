@@ -22,11 +22,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.geode.DataSerializer;
 import org.apache.geode.annotations.Immutable;
@@ -39,6 +43,7 @@ import org.apache.geode.internal.cache.snapshot.SnapshotPacket.SnapshotRecord;
 import org.apache.geode.pdx.internal.EnumInfo;
 import org.apache.geode.pdx.internal.PdxType;
 import org.apache.geode.pdx.internal.TypeRegistry;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 /**
  * Provides support for reading and writing snapshot files.
@@ -67,6 +72,19 @@ public class GFSnapshot {
   /** the snapshot format version 2 */
   public static final int SNAP_VER_2 = 2;
 
+  /**
+   * the snapshot format version 3, which is version 2 with the entries compressed as one deflate
+   * stream
+   */
+  public static final int SNAP_VER_3 = 3;
+
+  /**
+   * If true, snapshots are written in the compressed {@link #SNAP_VER_3} format, which members
+   * older than Geode 1.15 cannot read.
+   */
+  static final boolean COMPRESS =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "GFSnapshot.COMPRESS");
+
   /** the snapshot file format */
   @Immutable
   private static final byte[] SNAP_FMT = {0x47, 0x46, 0x53};
@@ -117,7 +135,7 @@ public class GFSnapshot {
    */
   public static SnapshotWriter create(File snapshot, String region, InternalCache cache)
       throws IOException {
-    final GFSnapshotExporter out = new GFSnapshotExporter(snapshot, region, cache);
+    final GFSnapshotExporter out = new GFSnapshotExporter(snapshot, region, cache, COMPRESS);
     return new SnapshotWriter() {
       @Override
       public void snapshotEntry(SnapshotRecord entry) throws IOException {
@@ -218,9 +236,21 @@ public class GFSnapshot {
 
     /** the output stream */
     private final DataOutputStream dos;
+
+    /** the compressor of the entries, or null if the snapshot is not compressed */
+    private final Deflater deflater;
+    private final DeflaterOutputStream compressor;
+
+    /** the output stream of the entries */
+    private final DataOutputStream entries;
     private final InternalCache cache;
 
     public GFSnapshotExporter(File out, String region, InternalCache cache) throws IOException {
+      this(out, region, cache, false);
+    }
+
+    public GFSnapshotExporter(File out, String region, InternalCache cache, boolean compress)
+        throws IOException {
       this.cache = cache;
       FileOutputStream fos = new FileOutputStream(out);
       fc = fos.getChannel();
@@ -228,7 +258,7 @@ public class GFSnapshot {
       dos = new DataOutputStream(new BufferedOutputStream(fos));
 
       // write snapshot version
-      dos.writeByte(SNAP_VER_2);
+      dos.writeByte(compress ? SNAP_VER_3 : SNAP_VER_2);
 
       // write format type
       dos.write(SNAP_FMT);
@@ -238,6 +268,17 @@ public class GFSnapshot {
 
       // write region name
       dos.writeUTF(region);
+
+      if (compress) {
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        compressor = new DeflaterOutputStream(dos, deflater);
+        entries = new DataOutputStream(
+            new BufferedOutputStream(compressor, RegionSnapshotServiceImpl.BUFFER_SIZE));
+      } else {
+        deflater = null;
+        compressor = null;
+        entries = dos;
+      }
     }
 
     /**
@@ -247,12 +288,17 @@ public class GFSnapshot {
      * @throws IOException unable to write entry
      */
     public void writeSnapshotEntry(SnapshotRecord entry) throws IOException {
-      InternalDataSerializer.invokeToData(entry, dos);
+      InternalDataSerializer.invokeToData(entry, entries);
     }
 
     public void close() throws IOException {
       // write entry terminator entry
-      DataSerializer.writeByteArray(null, dos);
+      DataSerializer.writeByteArray(null, entries);
+      if (compressor != null) {
+        entries.flush();
+        compressor.finish();
+        deflater.end();
+      }
 
       // grab the pdx start location
       dos.flush();
@@ -309,7 +355,7 @@ public class GFSnapshot {
               String.format("Unsupported snapshot version: %s", SNAP_VER_1)
                   + ": " + in);
 
-        } else if (version == SNAP_VER_2) {
+        } else if (version == SNAP_VER_2 || version == SNAP_VER_3) {
           // read format
           byte[] format = new byte[3];
           tmp.readFully(format);
@@ -346,8 +392,12 @@ public class GFSnapshot {
       checkPdxEnumCompatibility(typeRegistry);
 
       // open new stream with buffering for reading entries
-      dis = new DataInputStream(new BufferedInputStream(new FileInputStream(in)));
-      dis.skip(entryPosition);
+      InputStream entries = new BufferedInputStream(new FileInputStream(in));
+      entries.skip(entryPosition);
+      if (version == SNAP_VER_3) {
+        entries = new BufferedInputStream(new InflaterInputStream(entries));
+      }
+      dis = new DataInputStream(entries);
     }
 
     /**
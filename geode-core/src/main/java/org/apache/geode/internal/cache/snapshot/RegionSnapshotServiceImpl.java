@@ -20,17 +20,23 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 
 import org.apache.logging.log4j.LogManager;
 
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.client.PoolManager;
@@ -59,6 +65,7 @@ import org.apache.geode.internal.cache.snapshot.GFSnapshot.GFSnapshotImporter;
 import org.apache.geode.internal.cache.snapshot.GFSnapshot.SnapshotWriter;
 import org.apache.geode.internal.cache.snapshot.SnapshotPacket.SnapshotRecord;
 import org.apache.geode.internal.serialization.DSCODE;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
 import org.apache.geode.util.internal.GeodeGlossary;
 
 /**
@@ -69,10 +76,15 @@ import org.apache.geode.util.internal.GeodeGlossary;
  * @param <V> the value type
  */
 public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K, V> {
-  // controls number of concurrent putAll ops during an import
+  // controls number of concurrent putAll ops during an import, over all files imported at once
   private static final int IMPORT_CONCURRENCY = Integer.getInteger(
       GeodeGlossary.GEMFIRE_PREFIX + "RegionSnapshotServiceImpl.IMPORT_CONCURRENCY", 10);
 
+  // controls number of snapshot files of a directory imported concurrently
+  private static final int IMPORT_FILE_CONCURRENCY = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "RegionSnapshotServiceImpl.IMPORT_FILE_CONCURRENCY",
+      Runtime.getRuntime().availableProcessors());
+
   // controls the size (in bytes) of the r/w buffer during imoprt and export
   static final int BUFFER_SIZE = Integer.getInteger(
       GeodeGlossary.GEMFIRE_PREFIX + "RegionSnapshotServiceImpl.BUFFER_SIZE", 1024 * 1024);
@@ -218,19 +230,73 @@ public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K,
         throw new IllegalArgumentException("Failure to import snapshot: "
             + snapshot.getAbsolutePath() + " contains no valid .gfd snapshot files");
       }
-      for (File snapshotFile : snapshots) {
-        importSnapshotFile(snapshotFile, options, local);
-      }
+      importSnapshotFiles(snapshots, options, local, new Semaphore(IMPORT_CONCURRENCY),
+          IMPORT_FILE_CONCURRENCY);
     } else if (snapshot.getName().endsWith(SNAPSHOT_FILE_EXTENSION)) {
-      importSnapshotFile(snapshot, options, local);
+      importSnapshotFile(snapshot, options, local, new Semaphore(IMPORT_CONCURRENCY), false);
     } else {
       throw new IllegalArgumentException("Failure to import snapshot: "
           + snapshot.getCanonicalPath() + " is not .gfd file or directory containing .gfd files");
     }
   }
 
-  private void importSnapshotFile(File snapshot, SnapshotOptions<K, V> options, LocalRegion local)
-      throws IOException, ClassNotFoundException {
+  /**
+   * Imports the given snapshot files, reading up to {@link #IMPORT_FILE_CONCURRENCY} of them
+   * concurrently. The files share the {@link #IMPORT_CONCURRENCY} putAll batches that may be in
+   * flight at once. A {@link org.apache.geode.cache.snapshot.SnapshotFilter} is called by one
+   * thread at a time, as it is for a single file, since filters need not be thread-safe.
+   *
+   * @param putAllPermits limits the putAll batches in flight
+   * @param fileConcurrency the maximum number of files imported at once
+   */
+  @VisibleForTesting
+  void importSnapshotFiles(File[] snapshots, SnapshotOptions<K, V> options, LocalRegion local,
+      Semaphore putAllPermits, int fileConcurrency) throws IOException, ClassNotFoundException {
+    int threads = Math.min(snapshots.length, fileConcurrency);
+    if (threads <= 1) {
+      for (File snapshotFile : snapshots) {
+        importSnapshotFile(snapshotFile, options, local, putAllPermits, false);
+      }
+      return;
+    }
+
+    List<Callable<Void>> imports = new ArrayList<>(snapshots.length);
+    for (File snapshotFile : snapshots) {
+      imports.add(() -> {
+        importSnapshotFile(snapshotFile, options, local, putAllPermits, true);
+        return null;
+      });
+    }
+    ExecutorService executor =
+        LoggingExecutors.newFixedThreadPool(threads, "Snapshot Import Thread ", true);
+    try {
+      for (Future<Void> future : executor.invokeAll(imports)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException().initCause(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof ClassNotFoundException) {
+        throw (ClassNotFoundException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @param putAllPermits limits the putAll batches in flight, shared by the files imported at once
+   * @param concurrent whether other files are imported at the same time
+   */
+  private void importSnapshotFile(File snapshot, SnapshotOptions<K, V> options, LocalRegion local,
+      Semaphore putAllPermits, boolean concurrent) throws IOException, ClassNotFoundException {
     long count = 0;
     long bytes = 0;
     long start = local.getCachePerfStats().getTime();
@@ -270,7 +336,7 @@ public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K,
           }
         }
 
-        if (includeEntry(options, key, val)) {
+        if (includeEntry(options, key, val, concurrent)) {
           buffer.put(key, val);
           bufferSize += record.getSize();
           count++;
@@ -278,15 +344,28 @@ public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K,
           // Push entries into cache using putAll on a separate thread so we
           // can keep the disk busy. Throttle puts so we don't overwhelm the cache.
           if (bufferSize > BUFFER_SIZE) {
-            if (puts.size() == IMPORT_CONCURRENCY) {
+            // check the completed batches for errors
+            while (!puts.isEmpty() && puts.getFirst().isDone()) {
               puts.removeFirst().get();
             }
+            putAllPermits.acquire();
 
             final Map<K, V> copy = new HashMap<>(buffer);
-            Future<?> f = local.getCache().getDistributionManager().getExecutors()
-                .getWaitingThreadPool().submit(
-                    (Runnable) () -> local.basicImportPutAll(copy,
-                        !options.shouldInvokeCallbacks()));
+            FutureTask<Void> f = new FutureTask<Void>(
+                () -> local.basicImportPutAll(copy, !options.shouldInvokeCallbacks()), null) {
+              @Override
+              protected void done() {
+                // also called if the batch is cancelled before it ran
+                putAllPermits.release();
+              }
+            };
+            try {
+              local.getCache().getDistributionManager().getExecutors().getWaitingThreadPool()
+                  .execute(f);
+            } catch (RuntimeException e) {
+              putAllPermits.release();
+              throw e;
+            }
 
             puts.addLast(f);
             buffer.clear();
@@ -312,19 +391,18 @@ public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K,
       }
 
     } catch (InterruptedException e) {
-      while (!puts.isEmpty()) {
-        puts.removeFirst().cancel(true);
-      }
       Thread.currentThread().interrupt();
       throw (IOException) new InterruptedIOException().initCause(e);
 
     } catch (ExecutionException e) {
-      while (!puts.isEmpty()) {
-        puts.removeFirst().cancel(true);
-      }
       throw new IOException(e);
 
     } finally {
+      // cancel the batches of a failed import, including one failed by its filter, which also
+      // releases their permits
+      while (!puts.isEmpty()) {
+        puts.removeFirst().cancel(true);
+      }
       in.close();
       local.getCachePerfStats().endImport(count, start);
     }
@@ -373,7 +451,13 @@ public class RegionSnapshotServiceImpl<K, V> implements RegionSnapshotService<K,
     }
   }
 
-  private boolean includeEntry(SnapshotOptions<K, V> options, final K key, final V val) {
+  private boolean includeEntry(SnapshotOptions<K, V> options, final K key, final V val,
+      boolean concurrent) {
+    if (options.getFilter() != null && concurrent) {
+      synchronized (options.getFilter()) {
+        return includeEntry(options, key, val, false);
+      }
+    }
     if (options.getFilter() != null) {
       Entry<K, V> entry = new Entry<K, V>() {
         @Override
@@ -76,6 +76,7 @@ import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.LonerDistributionManager;
 import org.apache.geode.distributed.internal.ReplyProcessor21;
+import org.apache.geode.distributed.internal.VirtualThreadPerTaskExecutor;
 import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.SystemTimer;
 import org.apache.geode.internal.cache.BucketAdvisor;
@@ -696,6 +697,15 @@ public class AcceptorImpl implements Acceptor, Runnable {
     };
     try {
       String threadName = "ServerConnection on port " + localPort + " Thread ";
+      if (useVirtualThreads()) {
+        if (isSelector()) {
+          return CoreLoggingExecutors.newVirtualThreadPool(maxThreads, Integer.MAX_VALUE,
+              threadName, commandWrapper, getStats().getCnxPoolHelper(), getThreadMonitorObj(),
+              ThreadsMonitoring.Mode.PooledExecutor);
+        }
+        return CoreLoggingExecutors.newVirtualThreadPool(maxConnections, Integer.MAX_VALUE,
+            threadName, commandWrapper, null, null, ThreadsMonitoring.Mode.PooledExecutor);
+      }
       if (isSelector()) {
         return CoreLoggingExecutors.newThreadPoolWithUnlimitedFeed(maxThreads, Integer.MAX_VALUE,
             MILLISECONDS, threadName, threadInitializer, commandWrapper,
@@ -710,6 +720,18 @@ public class AcceptorImpl implements Acceptor, Runnable {
     }
   }
 
+  private static boolean useVirtualThreads() {
+    if (!USE_VIRTUAL_THREADS) {
+      return false;
+    }
+    if (!VirtualThreadPerTaskExecutor.isSupported()) {
+      logger.warn("Virtual threads are not supported by this JDK; client connections will use "
+          + "pooled platform threads.");
+      return false;
+    }
+    return true;
+  }
+
   private ThreadsMonitoring getThreadMonitorObj() {
     DistributionManager distributionManager = cache.getDistributionManager();
     if (distributionManager != null) {
@@ -757,6 +779,20 @@ public class AcceptorImpl implements Acceptor, Runnable {
   private final int HANDSHAKE_POOL_SIZE = Integer
       .getInteger("BridgeServer.HANDSHAKE_POOL_SIZE", HANDSHAKER_DEFAULT_POOL_SIZE);
 
+  /**
+   * Whether ServerConnections run in virtual threads, if the JDK supports them. The number of
+   * ServerConnections that run at once is still bounded by max-threads, or by max-connections if
+   * max-threads is 0.
+   * <p>
+   * A virtual thread that blocks inside a synchronized block or in Object.wait pins its carrier
+   * thread, and message processing takes many monitors. If many ServerConnections block like that
+   * at once, the carrier threads (by default as many as there are processors) run out and all
+   * virtual threads stall. Check the jdk.VirtualThreadPinned flight recorder event before enabling
+   * this.
+   */
+  private static final boolean USE_VIRTUAL_THREADS =
+      Boolean.getBoolean("BridgeServer.USE_VIRTUAL_THREADS");
+
   @Override
   public void start() {
     // This thread should not be a daemon to keep BridgeServers created
@@ -16,9 +16,10 @@ package org.apache.geode.internal.cache.tier.sockets;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Set;
 
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.operations.QueryOperationContext;
 import org.apache.geode.cache.query.Query;
@@ -212,8 +213,8 @@ public abstract class BaseCommandQuery extends BaseCommand {
           // from 7.0, if the object is in the form of serialized byte array,
           // send it as a part of ObjectPartList
           if (hasSerializedObjects) {
-            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.asList(), isStructs,
-                collectionType, queryString, cqQuery, sendResults,
+            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.iterator(),
+                isStructs, collectionType, queryString, cqQuery, sendResults,
                 securityService);
           } else {
             sendResultsAsObjectArray(selectResults, numberOfChunks, servConn, isStructs,
@@ -336,39 +337,36 @@ public abstract class BaseCommandQuery extends BaseCommand {
     }
   }
 
-  private void sendResultsAsObjectArray(SelectResults<?> selectResults, int numberOfChunks,
+  /**
+   * Sends the results chunk by chunk while iterating them, so the results are not copied into
+   * another array before they are sent.
+   */
+  @VisibleForTesting
+  void sendResultsAsObjectArray(SelectResults<?> selectResults, int numberOfChunks,
       ServerConnection servConn, boolean isStructs,
       CollectionType collectionType,
       String queryString, ServerCQ cqQuery,
       boolean sendResults)
       throws IOException {
     int resultIndex = 0;
-    // For CQ only as we dont want CQEntries which have null values.
-    int cqResultIndex = 0;
-    Object[] objs = selectResults.toArray();
+    Iterator<?> objs = selectResults.iterator();
     for (int j = 0; j < numberOfChunks; j++) {
-      boolean incompleteArray = false;
       if (logger.isTraceEnabled()) {
         logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
       }
       Object[] results = new Object[MAXIMUM_CHUNK_SIZE];
-      for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.length) {
-          incompleteArray = true;
-          break;
-        }
+      int i = 0;
+      while (i < MAXIMUM_CHUNK_SIZE && objs.hasNext()) {
+        Object result = objs.next();
         if (logger.isTraceEnabled()) {
           logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs[resultIndex]);
+              resultIndex, result);
         }
+        resultIndex++;
         if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs[resultIndex];
+          CqEntry e = (CqEntry) result;
           // The value may have become null because of entry invalidation.
           if (e.getValue() == null) {
-            resultIndex++;
-            // i will get incremented anyway so we need to decrement it back so
-            // that results[i] is not null.
-            i--;
             continue;
           }
           // Add the key into CQ results cache.
@@ -384,32 +382,26 @@ public abstract class BaseCommandQuery extends BaseCommand {
           results[i] = e.getKeyValuePair();
         } else {
           // instance check added to fix bug 40516.
-          if (isStructs && (objs[resultIndex] instanceof Struct)) {
-            results[i] = ((Struct) objs[resultIndex]).getFieldValues();
+          if (isStructs && (result instanceof Struct)) {
+            results[i] = ((Struct) result).getFieldValues();
           } else {
-            results[i] = objs[resultIndex];
+            results[i] = result;
           }
         }
-        resultIndex++;
-        cqResultIndex++;
+        i++;
       }
       // Shrink array if necessary. This will occur if the number
       // of entries in the chunk does not divide evenly into the
       // number of entries in the result set.
-      if (incompleteArray) {
-        final Object[] newResults;
-        if (cqQuery == null) {
-          newResults = new Object[resultIndex % MAXIMUM_CHUNK_SIZE];
-        } else {
-          newResults = new Object[cqResultIndex % MAXIMUM_CHUNK_SIZE];
-        }
+      if (i < MAXIMUM_CHUNK_SIZE) {
+        Object[] newResults = new Object[i];
         System.arraycopy(results, 0, newResults, 0, newResults.length);
         results = newResults;
       }
 
+      boolean lastChunk = !objs.hasNext();
       if (sendResults) {
-        writeQueryResponseChunk(results, collectionType, (resultIndex == objs.length),
-            servConn);
+        writeQueryResponseChunk(results, collectionType, lastChunk, servConn);
 
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
@@ -418,14 +410,15 @@ public abstract class BaseCommandQuery extends BaseCommand {
       }
       // If we have reached the last element of SelectResults then we should
       // break out of loop here only.
-      if (resultIndex == objs.length) {
+      if (lastChunk) {
         break;
       }
     }
   }
 
-  private void sendResultsAsObjectPartList(int numberOfChunks, ServerConnection servConn,
-      List<?> objs,
+  @VisibleForTesting
+  void sendResultsAsObjectPartList(int numberOfChunks, ServerConnection servConn,
+      Iterator<?> objs,
       boolean isStructs, CollectionType collectionType,
       String queryString, ServerCQ cqQuery,
       boolean sendResults,
@@ -438,16 +431,17 @@ public abstract class BaseCommandQuery extends BaseCommand {
       }
       ObjectPartList serializedObjs = new ObjectPartList(MAXIMUM_CHUNK_SIZE, false);
       for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.size()) {
+        if (!objs.hasNext()) {
           break;
         }
+        Object next = objs.next();
         if (logger.isTraceEnabled()) {
           logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs.get(resultIndex));
+              resultIndex, next);
         }
         Object result;
         if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs.get(resultIndex);
+          CqEntry e = (CqEntry) next;
           // The value may have become null because of entry invalidation.
           if (e.getValue() == null) {
             resultIndex++;
@@ -466,7 +460,7 @@ public abstract class BaseCommandQuery extends BaseCommand {
           // Add to the Results object array.
           result = e.getKeyValuePair();
         } else {
-          result = objs.get(resultIndex);
+          result = next;
         }
         if (sendResults) {
           addToObjectPartList(serializedObjs, result, isStructs,
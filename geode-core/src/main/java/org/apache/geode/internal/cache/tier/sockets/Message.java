@@ -164,6 +164,10 @@ public class Message {
   private Semaphore dataLimiter = null;
   private Semaphore messageLimiter = null;
   private boolean readHeader = false;
+  /**
+   * True if the comm buffer holds the first bytes of the header of the next message.
+   */
+  private boolean headerPrefetched = false;
   private int chunkSize = DEFAULT_CHUNK_SIZE;
 
   Part securePart = null;
@@ -803,7 +807,9 @@ public class Message {
    */
   void fetchHeader() throws IOException {
     final ByteBuffer cb = getCommBuffer();
-    cb.clear();
+    if (!this.headerPrefetched) {
+      cb.clear();
+    }
 
     // messageType is invalidated here and can be used as an indicator
     // of problems reading the message
@@ -811,8 +817,12 @@ public class Message {
 
     final int headerLength = getHeaderLength();
     if (this.socketChannel != null) {
-      cb.limit(headerLength);
-      do {
+      if (this.headerPrefetched) {
+        this.headerPrefetched = false;
+      } else {
+        cb.limit(headerLength);
+      }
+      while (cb.remaining() > 0) {
         int bytesRead = this.socketChannel.read(cb);
         if (bytesRead == -1) {
           throw new EOFException(
@@ -821,7 +831,7 @@ public class Message {
         if (this.messageStats != null) {
           this.messageStats.incReceivedBytes(bytesRead);
         }
-      } while (cb.remaining() > 0);
+      }
       cb.flip();
 
     } else {
@@ -843,6 +853,39 @@ public class Message {
     }
   }
 
+  /**
+   * Reads as much of the header of the next message as is available without blocking. The socket
+   * channel must be in non-blocking mode. If any of the header was read, the next receive
+   * completes it, so the comm buffer must not be used for anything else in between.
+   * <p>
+   * If the peer has closed the connection this also returns true, and the next receive throws the
+   * same {@link EOFException} it would throw had it been called without prefetching.
+   *
+   * @return true if the next message has started to arrive or the connection was closed
+   */
+  boolean prefetchHeader() throws IOException {
+    if (this.socketChannel == null) {
+      return false;
+    }
+    final ByteBuffer cb = getCommBuffer();
+    cb.clear();
+    cb.limit(getHeaderLength());
+    int bytesRead = this.socketChannel.read(cb);
+    if (bytesRead == -1) {
+      // the channel keeps returning -1, so receive reads the end of stream again
+      this.headerPrefetched = true;
+      return true;
+    }
+    if (bytesRead == 0) {
+      return false;
+    }
+    if (this.messageStats != null) {
+      this.messageStats.incReceivedBytes(bytesRead);
+    }
+    this.headerPrefetched = true;
+    return true;
+  }
+
   /**
    * TODO: refactor overly long method readPayloadFields
    */
@@ -108,6 +108,14 @@ public class ServerConnection implements Runnable {
   public static boolean allowInternalMessagesWithoutCredentials =
       !Boolean.getBoolean(DISALLOW_INTERNAL_MESSAGES_WITHOUT_CREDENTIALS_NAME);
 
+  /**
+   * The maximum number of messages a ServerConnection processes in selector mode before it goes
+   * back to the selector, if the client sends the next message before the previous one was
+   * answered. A value of 1 always goes back to the selector.
+   */
+  private static final int MAX_MESSAGES_PER_DISPATCH =
+      Integer.getInteger("BridgeServer.MAX_MESSAGES_PER_DISPATCH", 16);
+
   private Map<Integer, Command> commands;
 
   protected final SecurityService securityService;
@@ -1239,10 +1247,23 @@ public class ServerConnection implements Runnable {
         if (!isTerminated()) {
           getAcceptor().setTLCommBuffer();
           doOneMessage();
-          if (processMessages && !crHelper.isShutdown()) {
-            // finished message so reregister
-            registerWithSelector();
-            finishedMessage = true;
+          int messagesProcessed = 1;
+          while (processMessages && !crHelper.isShutdown()) {
+            unsetRequestSpecificTimeout();
+            getSelectableChannel().configureBlocking(false);
+            if (messagesProcessed >= MAX_MESSAGES_PER_DISPATCH
+                || !requestMessage.prefetchHeader()) {
+              // finished message so reregister
+              registerWithSelector();
+              finishedMessage = true;
+              break;
+            }
+            // the client has pipelined its next message, or closed the connection, so process it
+            // without the round trip through the selector and the thread pool. A close is read
+            // as an EOFException by doOneMessage and handled like any other client disconnect.
+            makeBlocking();
+            doOneMessage();
+            messagesProcessed++;
           }
         }
       } catch (ClosedChannelException | CancelException ignore) {
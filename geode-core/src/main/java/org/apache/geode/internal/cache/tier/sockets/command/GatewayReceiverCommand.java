@@ -42,6 +42,7 @@ import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.GatewayBatchValueCompression;
 import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
 import org.apache.geode.internal.security.AuthorizeRequest;
 import org.apache.geode.internal.security.SecurityService;
@@ -179,7 +180,10 @@ public class GatewayReceiverCommand extends BaseCommand {
             handleException(removeOnException, stats, e);
             break;
           }
-          boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
+          boolean possibleDuplicate = (possibleDuplicatePartBytes[0]
+              & GatewayBatchValueCompression.POSSIBLE_DUPLICATE) != 0;
+          boolean valueCompressed = (possibleDuplicatePartBytes[0]
+              & GatewayBatchValueCompression.VALUE_COMPRESSED) != 0;
 
           // Make sure instance variables are null before each iteration
           String regionName = null;
@@ -244,6 +248,11 @@ public class GatewayReceiverCommand extends BaseCommand {
 
                 // Retrieve the value from the message parts (do not deserialize it)
                 valuePart = clientMessage.getPart(partNumber + 5);
+                if (valueCompressed) {
+                  valuePart.setPartState(
+                      GatewayBatchValueCompression.decompress(valuePart.getSerializedForm()),
+                      valuePart.isObject());
+                }
                 // try {
                 // logger.warn(getName() + ": Creating key " + key + " value " +
                 // valuePart.getObject());
@@ -353,6 +362,11 @@ public class GatewayReceiverCommand extends BaseCommand {
               try {
                 // Retrieve the value from the message parts (do not deserialize it)
                 valuePart = clientMessage.getPart(partNumber + 5);
+                if (valueCompressed) {
+                  valuePart.setPartState(
+                      GatewayBatchValueCompression.decompress(valuePart.getSerializedForm()),
+                      valuePart.isObject());
+                }
                 // try {
                 // logger.warn(getName() + ": Updating key " + key + " value " +
                 // valuePart.getObject());
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.serialization.Versioning;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Compression of the event values of gateway batches. A sender compresses the values of at least
+ * {@link #THRESHOLD} bytes if the receiving site is recent enough to decompress them, and marks
+ * each compressed value with the {@link #VALUE_COMPRESSED} bit of the event's flags part, which
+ * otherwise only carries the {@link #POSSIBLE_DUPLICATE} bit.
+ *
+ * @since Geode 1.15
+ */
+public class GatewayBatchValueCompression {
+  /**
+   * The bit of an event's flags part set if the event is a possible duplicate.
+   */
+  public static final byte POSSIBLE_DUPLICATE = 0x01;
+
+  /**
+   * The bit of an event's flags part set if the event's value is compressed.
+   */
+  public static final byte VALUE_COMPRESSED = 0x02;
+
+  /**
+   * The size in bytes from which event values are compressed, or a negative value to never
+   * compress them.
+   */
+  public static final int THRESHOLD = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "GatewaySender.BATCH_VALUE_COMPRESSION_THRESHOLD", -1);
+
+  @Immutable
+  private static final KnownVersion MINIMUM_VERSION = KnownVersion.GEODE_1_15_0;
+
+  @Immutable
+  private static final Compressor compressor = new DeflateCompressor();
+
+  private GatewayBatchValueCompression() {
+    // no instances allowed
+  }
+
+  /**
+   * Returns true if values should be compressed in batches sent to a site of the given version.
+   */
+  public static boolean isEnabled(short remoteSiteVersion) {
+    return THRESHOLD >= 0
+        && MINIMUM_VERSION.compareTo(Versioning.getVersion(remoteSiteVersion)) <= 0;
+  }
+
+  /**
+   * Returns true if the given value is large enough to be compressed.
+   */
+  public static boolean shouldCompress(byte[] value) {
+    return value != null && value.length >= THRESHOLD;
+  }
+
+  public static byte[] compress(byte[] value) {
+    return compressor.compress(value);
+  }
+
+  public static byte[] decompress(byte[] value) {
+    return compressor.decompress(value);
+  }
+}
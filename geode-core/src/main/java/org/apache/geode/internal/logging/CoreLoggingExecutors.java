@@ -37,6 +37,7 @@ import org.apache.geode.distributed.internal.PoolStatHelper;
 import org.apache.geode.distributed.internal.PooledExecutorWithDMStats;
 import org.apache.geode.distributed.internal.QueueStatHelper;
 import org.apache.geode.distributed.internal.SerialQueuedExecutorWithDMStats;
+import org.apache.geode.distributed.internal.VirtualThreadPerTaskExecutor;
 import org.apache.geode.internal.ScheduledThreadPoolExecutorWithKeepAlive;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
 import org.apache.geode.logging.internal.executors.LoggingExecutors;
@@ -72,6 +73,20 @@ public class CoreLoggingExecutors {
         threadsMonitoring);
   }
 
+  /**
+   * Creates an executor that runs function execution tasks in virtual threads, of which at most
+   * poolSize run at once. Like the function execution thread pool, tasks submitted by function
+   * execution threads run in the submitting thread while the executor is saturated, and other
+   * threads block while workQueueSize tasks wait to run.
+   */
+  public static ExecutorService newFunctionVirtualThreadPool(int poolSize, int workQueueSize,
+      String threadName, CommandWrapper commandWrapper, PoolStatHelper poolStatHelper,
+      ThreadsMonitoring threadsMonitoring) {
+    return new VirtualThreadPerTaskExecutor(threadName, poolSize, workQueueSize,
+        FunctionExecutionPooledExecutor::isFunctionExecutionThread, commandWrapper,
+        poolStatHelper, threadsMonitoring, ThreadsMonitoring.Mode.FunctionExecutor);
+  }
+
   public static ExecutorService newSerialThreadPool(BlockingQueue<Runnable> workQueue,
       String threadName, ThreadInitializer threadInitializer, CommandWrapper commandWrapper,
       PoolStatHelper poolStatHelper, ThreadsMonitoring threadsMonitoring) {
@@ -198,6 +213,22 @@ public class CoreLoggingExecutors {
         poolStatHelper, threadsMonitoring);
   }
 
+  /**
+   * Creates an executor that runs each task in a virtual thread, of which at most poolSize run at
+   * once. Once workQueueSize tasks wait to run, execute blocks until one of them starts, as it
+   * does for a thread pool with a work queue of that size. Requires a JDK that supports virtual
+   * threads.
+   *
+   * @param workQueueSize the maximum number of waiting tasks, or Integer.MAX_VALUE
+   * @see VirtualThreadPerTaskExecutor#isSupported()
+   */
+  public static ExecutorService newVirtualThreadPool(int poolSize, int workQueueSize,
+      String threadName, CommandWrapper commandWrapper, PoolStatHelper poolStatHelper,
+      ThreadsMonitoring threadsMonitoring, ThreadsMonitoring.Mode monitoringMode) {
+    return new VirtualThreadPerTaskExecutor(threadName, poolSize, workQueueSize, null,
+        commandWrapper, poolStatHelper, threadsMonitoring, monitoringMode);
+  }
+
   private CoreLoggingExecutors() {
     // no instances allowed
   }
@@ -1930,6 +1930,62 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * sends the concatenation of the given buffers as one serialized message chunk. The buffers are
+   * written with a single gathering write when the connection writes synchronously without SSL,
+   * so that large values need not be copied into a contiguous buffer first. Otherwise they are
+   * copied into one buffer and sent like any other chunk.
+   *
+   * @throws ConnectionException if the conduit has stopped
+   */
+  void sendPreserialized(ByteBuffer[] buffers, boolean cacheContentChanges,
+      DistributionMessage msg) throws IOException, ConnectionException {
+    if (batchFlusher != null || !useSyncWrites(false)) {
+      sendPreserialized(concatenate(buffers), cacheContentChanges, msg);
+      return;
+    }
+    if (!connected) {
+      throw new ConnectionException(String.format("Not connected to %s", remoteAddr));
+    }
+    final boolean origSocketInUse = socketInUse;
+    byte originalState;
+    synchronized (stateLock) {
+      originalState = connectionState;
+      connectionState = STATE_SENDING;
+    }
+    socketInUse = true;
+    try {
+      SocketChannel channel = getSocket().getChannel();
+      writeFully(channel, buffers, msg);
+      if (cacheContentChanges) {
+        messagesSent++;
+      }
+    } finally {
+      accessed();
+      socketInUse = origSocketInUse;
+      synchronized (stateLock) {
+        connectionState = originalState;
+      }
+    }
+  }
+
+  /**
+   * Copies the remaining bytes of the given buffers into a new buffer, leaving their positions
+   * unchanged.
+   */
+  static ByteBuffer concatenate(ByteBuffer[] buffers) {
+    int size = 0;
+    for (ByteBuffer buffer : buffers) {
+      size += buffer.remaining();
+    }
+    ByteBuffer result = ByteBuffer.allocate(size);
+    for (ByteBuffer buffer : buffers) {
+      result.put(buffer.duplicate());
+    }
+    result.flip();
+    return result;
+  }
+
   /**
    * If {@code use} is true then "claim" the connection for our use. If {@code use} is
    * false then "release" the connection.
@@ -2665,6 +2721,56 @@ public class Connection implements Runnable {
     }
   }
 
+  private void writeFully(SocketChannel channel, ByteBuffer[] buffers, DistributionMessage msg)
+      throws IOException, ConnectionException {
+    final DMStats stats = owner.getConduit().getStats();
+    if (!sharedResource) {
+      stats.incTOSentMsg();
+    }
+    long startLock = stats.startSocketLock();
+    synchronized (outLock) {
+      stats.endSocketLock(startLock);
+      if (asyncQueuingInProgress) {
+        if (addToQueue(concatenate(buffers), msg, false)) {
+          return;
+        }
+        // fall through
+      }
+      if (ioFilter instanceof NioPlainEngine) {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+          remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+          long amtWritten = 0;
+          long start = stats.startSocketWrite(true);
+          try {
+            amtWritten = channel.write(buffers);
+          } finally {
+            stats.endSocketWrite(true, start, (int) amtWritten, 0);
+          }
+          remaining -= amtWritten;
+        }
+        return;
+      }
+      for (ByteBuffer buffer : buffers) {
+        try (final ByteBufferSharing outputSharing = ioFilter.wrap(buffer)) {
+          final ByteBuffer wrappedBuffer = outputSharing.getBuffer();
+
+          while (wrappedBuffer.remaining() > 0) {
+            int amtWritten = 0;
+            long start = stats.startSocketWrite(true);
+            try {
+              amtWritten = channel.write(wrappedBuffer);
+            } finally {
+              stats.endSocketWrite(true, start, amtWritten, 0);
+            }
+          }
+        }
+      }
+    }
+  }
+
   /**
    * @throws SocketTimeoutException if wait expires.
    * @throws ConnectionException if ack is not received
@@ -25,12 +25,14 @@ import java.net.InetAddress;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -143,6 +145,20 @@ public class ConnectionTable {
   private static final long READER_POOL_KEEP_ALIVE_TIME =
       Long.getLong("p2p.READER_POOL_KEEP_ALIVE_TIME", 120);
 
+  /**
+   * Number of thread-owned connections to each member that are kept for reuse by other threads
+   * when the thread owning them releases its sockets. Zero closes released connections.
+   */
+  private final int maxIdleThreadOwnedConnections =
+      Integer.getInteger("p2p.MAX_IDLE_THREAD_OWNED_CONNECTIONS", 0);
+
+  /**
+   * Thread-owned connections released by their threads and not yet taken over by another thread.
+   * They remain in threadConnectionMap and are closed by the idle timeout if not reused.
+   */
+  private final ConcurrentMap<DistributedMember, Deque<Connection>> idleThreadOwnedConnections =
+      new ConcurrentHashMap<>();
+
   private final SocketCloser socketCloser;
 
   /**
@@ -470,6 +486,15 @@ public class ConnectionTable {
     if (result != null)
       return result;
 
+    // Take over a connection released by another thread
+    result = pollIdleThreadOwnedConnection(id);
+    if (result != null) {
+      synchronized (m) {
+        m.put(id, result);
+      }
+      return result;
+    }
+
     // OK, we have to create a new connection.
     result = Connection.createSender(owner.getMembership(), this, true, id, false, startTime,
         ackTimeout, ackSATimeout);
@@ -510,6 +535,55 @@ public class ConnectionTable {
     return result;
   }
 
+  /**
+   * Returns a connected thread-owned connection to the given member released by another thread, or
+   * null if there is none.
+   */
+  private Connection pollIdleThreadOwnedConnection(DistributedMember id) {
+    Deque<Connection> idle = idleThreadOwnedConnections.get(id);
+    if (idle == null) {
+      return null;
+    }
+    Connection connection;
+    while ((connection = idle.pollFirst()) != null) {
+      if (connection.connected && !connection.timedOut && !connection.isClosing()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("ConnectionTable: reusing an ordered connection: {}", connection);
+        }
+        return connection;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Keeps the given thread-owned connection for reuse by another thread.
+   *
+   * @return false if the connection should be closed instead
+   */
+  private boolean offerIdleThreadOwnedConnection(DistributedMember id, Connection connection) {
+    if (maxIdleThreadOwnedConnections <= 0 || closed || !connection.connected
+        || connection.timedOut || connection.isClosing()) {
+      return false;
+    }
+    Deque<Connection> idle = JavaWorkarounds.computeIfAbsent(idleThreadOwnedConnections, id,
+        k -> new ConcurrentLinkedDeque<>());
+    synchronized (idle) {
+      idle.removeIf(c -> !c.connected || c.timedOut || c.isClosing());
+      if (idle.size() >= maxIdleThreadOwnedConnections) {
+        return false;
+      }
+      idle.addFirst(connection);
+    }
+    return true;
+  }
+
+  @VisibleForTesting
+  int getIdleThreadOwnedConnectionCount(DistributedMember id) {
+    Deque<Connection> idle = idleThreadOwnedConnections.get(id);
+    return idle == null ? 0 : idle.size();
+  }
+
   /** schedule an idle-connection timeout task */
   private void scheduleIdleTimeout(Connection conn) {
     if (conn == null) {
@@ -669,6 +743,7 @@ public class ConnectionTable {
         this.threadConnectionMap.clear();
       }
     }
+    idleThreadOwnedConnections.clear();
     if (threadConnMaps != null) {
       synchronized (threadConnMaps) {
         for (Object threadConnMap : threadConnMaps) {
@@ -757,6 +832,12 @@ public class ConnectionTable {
     if (closed) {
       return;
     }
+    Deque<Connection> idle = idleThreadOwnedConnections.remove(memberID);
+    if (idle != null) {
+      for (Connection c : idle) {
+        closeCon(reason, c);
+      }
+    }
     boolean needsRemoval = false;
     synchronized (orderedConnectionMap) {
       if (orderedConnectionMap.get(memberID) != null)
@@ -960,9 +1041,11 @@ public class ConnectionTable {
           Map.Entry me = (Map.Entry) it.next();
           DistributedMember stub = (DistributedMember) me.getKey();
           Connection c = (Connection) me.getValue();
-          removeFromThreadConMap(threadConnectionMap, stub, c);
           it.remove();
-          closeCon("thread finalization", c);
+          if (!offerIdleThreadOwnedConnection(stub, c)) {
+            removeFromThreadConMap(threadConnectionMap, stub, c);
+            closeCon("thread finalization", c);
+          }
         }
       }
     }
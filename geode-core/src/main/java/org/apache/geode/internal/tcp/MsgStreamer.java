@@ -52,6 +52,14 @@ import org.apache.geode.util.internal.GeodeGlossary;
 public class MsgStreamer extends OutputStream
     implements ObjToByteArraySerializer, BaseMsgStreamer, ByteBufferWriter {
 
+  /**
+   * Direct buffers of at least this many bytes, such as the serialized form of off-heap values,
+   * are sent to the connections with gathering writes after the chunk header and the bytes
+   * preceding them instead of being copied into the chunk buffer. A negative value disables this.
+   */
+  static final int GATHER_WRITE_THRESHOLD =
+      Integer.getInteger("p2p.gatherWriteThreshold", 32 * 1024);
+
   /**
    * List of connections to send this msg to.
    */
@@ -307,6 +315,13 @@ public class MsgStreamer extends OutputStream
   }
 
   public void realFlush(boolean lastFlushForMessage) {
+    realFlush(lastFlushForMessage, null);
+  }
+
+  /**
+   * Sends the current chunk, followed by the given payload if it is not null.
+   */
+  private void realFlush(boolean lastFlushForMessage, ByteBuffer payload) {
     if (isOverflowMode()) {
       if (this.overflowBuf == null) {
         this.overflowBuf = new HeapDataOutputStream(
@@ -315,8 +330,9 @@ public class MsgStreamer extends OutputStream
       return;
     }
     this.buffer.flip();
-    setMessageHeader();
-    final int serializedBytes = this.buffer.limit();
+    final int payloadBytes = payload == null ? 0 : payload.remaining();
+    setMessageHeader(payloadBytes);
+    final int serializedBytes = this.buffer.limit() + payloadBytes;
     this.flushedBytes += serializedBytes;
     DistributionMessage conflationMsg = null;
     if (this.normalMsg) {
@@ -327,8 +343,14 @@ public class MsgStreamer extends OutputStream
     for (Iterator it = this.cons.iterator(); it.hasNext();) {
       Connection con = (Connection) it.next();
       try {
-        con.sendPreserialized(this.buffer,
-            lastFlushForMessage && this.msg.containsRegionContentChange(), conflationMsg);
+        boolean cacheContentChanges =
+            lastFlushForMessage && this.msg.containsRegionContentChange();
+        if (payload == null) {
+          con.sendPreserialized(this.buffer, cacheContentChanges, conflationMsg);
+        } else {
+          con.sendPreserialized(new ByteBuffer[] {this.buffer, payload}, cacheContentChanges,
+              conflationMsg);
+        }
       } catch (IOException ex) {
         it.remove();
         if (this.ce == null)
@@ -345,6 +367,9 @@ public class MsgStreamer extends OutputStream
             String.format("closing due to %s", "ConnectionException"));
       }
       this.buffer.rewind();
+      if (payload != null) {
+        payload.rewind();
+      }
     }
     startSerialization();
     this.buffer.clear();
@@ -413,6 +438,10 @@ public class MsgStreamer extends OutputStream
       this.overflowBuf.write(bb);
       return;
     }
+    if (bb.isDirect() && GATHER_WRITE_THRESHOLD >= 0 && bb.remaining() >= GATHER_WRITE_THRESHOLD
+        && !isOverflowMode()) {
+      writeGathering(bb);
+    }
     int len = bb.remaining();
     while (len > 0) {
       int remainingSpace = this.buffer.capacity() - this.buffer.position();
@@ -436,10 +465,31 @@ public class MsgStreamer extends OutputStream
     }
   }
 
+  /**
+   * Sends each chunk that the given buffer would complete as the current chunk followed by a slice
+   * of the buffer, which avoids copying the buffer into the chunk buffer. The chunks are the same
+   * as if the buffer had been copied. The bytes that do not complete a chunk are left in the
+   * buffer.
+   */
+  private void writeGathering(ByteBuffer bb) {
+    int remainingSpace = this.buffer.capacity() - this.buffer.position();
+    while (bb.remaining() > remainingSpace) {
+      int oldLimit = bb.limit();
+      bb.limit(bb.position() + remainingSpace);
+      ByteBuffer payload = bb.slice();
+      bb.position(bb.limit());
+      bb.limit(oldLimit);
+      realFlush(false, payload);
+      remainingSpace = this.buffer.capacity() - this.buffer.position();
+    }
+  }
+
   /**
    * write the header after the message has been written to the stream
+   *
+   * @param payloadBytes the number of bytes sent after the buffer as part of this chunk
    */
-  private void setMessageHeader() {
+  private void setMessageHeader(int payloadBytes) {
     Assert.assertTrue(this.overflowBuf == null);
     Assert.assertTrue(!isOverflowMode());
     // int processorType = this.msg.getProcessorType();
@@ -463,7 +513,7 @@ public class MsgStreamer extends OutputStream
     }
 
     this.buffer.putInt(Connection.MSG_HEADER_SIZE_OFFSET,
-        Connection.calcHdrSize(this.buffer.limit() - Connection.MSG_HEADER_BYTES));
+        Connection.calcHdrSize(this.buffer.limit() - Connection.MSG_HEADER_BYTES + payloadBytes));
     this.buffer.put(Connection.MSG_HEADER_TYPE_OFFSET, (byte) (msgType & 0xff));
     this.buffer.putShort(Connection.MSG_HEADER_ID_OFFSET, this.msgId);
     this.buffer.position(0);
@@ -695,6 +695,13 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     if (ft == null) {
       return null;
     }
+    return readField(ft);
+  }
+
+  /**
+   * Reads the given field of this reader's {@link PdxType} without looking it up by name.
+   */
+  public Object readField(PdxField ft) {
     switch (ft.getFieldType()) {
       case CHAR:
         return readChar(ft);
@@ -953,6 +960,14 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     if (ft == null) {
       return null;
     }
+    return readRawField(ft);
+  }
+
+  /**
+   * @return PdxString if the given field of this reader's {@link PdxType} is a String otherwise
+   *         invokes {@link #readField(PdxField)}
+   */
+  public Object readRawField(PdxField ft) {
     if (ft.getFieldType() == FieldType.STRING) {
       return readPdxString(ft);
     } else {
@@ -960,7 +975,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
       if (pdxString != null)
         return pdxString;
     }
-    return readField(field);
+    return readField(ft);
   }
 
   /**
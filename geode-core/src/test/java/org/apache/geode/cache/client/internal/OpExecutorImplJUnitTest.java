@@ -467,6 +467,11 @@ public class OpExecutorImplJUnitTest {
       return null;
     }
 
+    @Override
+    public ByteBuffer getCommBufferForAsyncRead() {
+      return null;
+    }
+
     @Override
     public ServerLocation getServer() {
       return server;
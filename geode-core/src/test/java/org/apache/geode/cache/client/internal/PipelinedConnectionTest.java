@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.client.ServerConnectivityException;
+import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.MessageStats;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category({ClientServerTest.class})
+public class PipelinedConnectionTest {
+
+  private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+  private Connection connection;
+  private ConnectionManager connectionManager;
+  private PipelinedConnection pipeline;
+
+  @Before
+  public void setUp() {
+    connection = mock(Connection.class);
+    when(connection.getWrappedConnection()).thenReturn(connection);
+    when(connection.getServer()).thenReturn(new ServerLocation("localhost", 40404));
+    connectionManager = mock(ConnectionManager.class);
+    pipeline = new PipelinedConnection(connection, connectionManager, 10);
+    pipeline.start();
+  }
+
+  @After
+  public void tearDown() {
+    pipeline.close(null);
+  }
+
+  @Test
+  public void responsesCompleteOpsInSendOrder() throws Exception {
+    CompletableFuture<Object> first = pipeline.submit(new TestOp());
+    CompletableFuture<Object> second = pipeline.submit(new TestOp());
+    CompletableFuture<Object> third = pipeline.submit(new TestOp());
+
+    responses.add("one");
+    responses.add("two");
+    responses.add("three");
+
+    assertThat(first.get(getTimeout().toMillis(), MILLISECONDS)).isEqualTo("one");
+    assertThat(second.get(getTimeout().toMillis(), MILLISECONDS)).isEqualTo("two");
+    assertThat(third.get(getTimeout().toMillis(), MILLISECONDS)).isEqualTo("three");
+    assertThat(pipeline.isClosed()).isFalse();
+  }
+
+  @Test
+  public void serverExceptionFailsOnlyItsOwnOp() throws Exception {
+    ServerOperationException exception = new ServerOperationException("boom");
+    CompletableFuture<Object> first = pipeline.submit(new TestOp());
+    CompletableFuture<Object> second = pipeline.submit(new TestOp());
+
+    responses.add(exception);
+    responses.add("two");
+
+    Throwable thrown = catchThrowable(() -> first.get(getTimeout().toMillis(), MILLISECONDS));
+    assertThat(thrown).isInstanceOf(ExecutionException.class).hasCause(exception);
+    assertThat(second.get(getTimeout().toMillis(), MILLISECONDS)).isEqualTo("two");
+    assertThat(pipeline.isClosed()).isFalse();
+  }
+
+  @Test
+  public void brokenConnectionFailsAllOutstandingOpsAndClosesPipeline() {
+    CompletableFuture<Object> first = pipeline.submit(new TestOp());
+    CompletableFuture<Object> second = pipeline.submit(new TestOp());
+
+    responses.add(new IOException("connection reset"));
+
+    await().until(() -> first.isDone() && second.isDone());
+    assertThat(first).isCompletedExceptionally();
+    assertThat(second).isCompletedExceptionally();
+    assertThat(pipeline.isClosed()).isTrue();
+    await().untilAsserted(() -> {
+      verify(connection).destroy();
+      verify(connectionManager).returnConnection(connection);
+    });
+  }
+
+  @Test
+  public void sendsRequestsWhileReadingResponsesOverSocket() throws Exception {
+    InetAddress localhost = InetAddress.getLoopbackAddress();
+    try (ServerSocket serverSocket = new ServerSocket(0, 50, localhost);
+        Socket clientSocket = new Socket(localhost, serverSocket.getLocalPort());
+        Socket serverSide = serverSocket.accept()) {
+      clientSocket.setSoTimeout((int) getTimeout().toMillis());
+      serverSide.setSoTimeout((int) getTimeout().toMillis());
+      Connection socketConnection = mock(Connection.class);
+      when(socketConnection.getWrappedConnection()).thenReturn(socketConnection);
+      when(socketConnection.getServer()).thenReturn(new ServerLocation("localhost", 40404));
+      when(socketConnection.getSocket()).thenReturn(clientSocket);
+      when(socketConnection.getInputStream()).thenReturn(clientSocket.getInputStream());
+      when(socketConnection.getOutputStream()).thenReturn(clientSocket.getOutputStream());
+      when(socketConnection.getCommBuffer()).thenReturn(ByteBuffer.allocate(1024));
+      when(socketConnection.getCommBufferForAsyncRead()).thenReturn(ByteBuffer.allocate(1024));
+      when(socketConnection.getStats()).thenReturn(mock(ConnectionStats.class));
+      PipelinedConnection socketPipeline =
+          new PipelinedConnection(socketConnection, connectionManager, 10);
+      socketPipeline.start();
+      try {
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+          results.add(socketPipeline.submit(new StringOp("request" + i)));
+        }
+
+        // every request has to arrive before any response is sent, while the reader is waiting
+        List<String> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+          Message request = new Message(1, KnownVersion.CURRENT);
+          setComms(request, serverSide);
+          request.receive();
+          requests.add(request.getPart(0).getString());
+        }
+        for (String request : requests) {
+          Message response = new Message(1, KnownVersion.CURRENT);
+          response.setMessageType(MessageType.RESPONSE);
+          response.addStringPart("reply to " + request);
+          setComms(response, serverSide);
+          response.send();
+        }
+
+        assertThat(requests).containsExactly("request0", "request1", "request2");
+        for (int i = 0; i < 3; i++) {
+          assertThat(results.get(i).get(getTimeout().toMillis(), MILLISECONDS))
+              .isEqualTo("reply to request" + i);
+        }
+        assertThat(socketPipeline.isClosed()).isFalse();
+      } finally {
+        socketPipeline.close(null);
+      }
+    }
+  }
+
+  private static void setComms(Message message, Socket socket) throws IOException {
+    message.setComms(socket, socket.getInputStream(), socket.getOutputStream(),
+        ByteBuffer.allocate(1024), mock(MessageStats.class));
+  }
+
+  @Test
+  public void submitAfterCloseFailsImmediately() {
+    pipeline.close(null);
+
+    CompletableFuture<Object> result = pipeline.submit(new TestOp());
+
+    assertThat(result).isCompletedExceptionally();
+    Throwable thrown = catchThrowable(result::join);
+    assertThat(thrown).hasCauseInstanceOf(ServerConnectivityException.class);
+  }
+
+  @Test
+  public void failedSendClosesPipeline() {
+    TestOp op = new TestOp();
+    op.sendFailure = new IOException("broken pipe");
+
+    CompletableFuture<Object> result = pipeline.submit(op);
+
+    assertThat(result).isCompletedExceptionally();
+    assertThat(pipeline.isClosed()).isTrue();
+    await().untilAsserted(() -> verify(connectionManager).returnConnection(connection));
+  }
+
+  @Test
+  public void failedSendDoesNotDestroyConnectionWhileReaderIsReading() throws Exception {
+    CountDownLatch readStarted = new CountDownLatch(1);
+    CountDownLatch releaseRead = new CountDownLatch(1);
+    TestOp reading = new TestOp();
+    reading.readStarted = readStarted;
+    reading.releaseRead = releaseRead;
+    pipeline.submit(reading);
+    assertThat(readStarted.await(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+    TestOp failing = new TestOp();
+    failing.sendFailure = new IOException("broken pipe");
+
+    pipeline.submit(failing);
+
+    assertThat(pipeline.isClosed()).isTrue();
+    verify(connection, never()).destroy();
+    verify(connectionManager, never()).returnConnection(connection);
+
+    releaseRead.countDown();
+    await().untilAsserted(() -> {
+      verify(connection).destroy();
+      verify(connectionManager).returnConnection(connection);
+    });
+  }
+
+  private class TestOp extends AbstractOp {
+    private Exception sendFailure;
+    private CountDownLatch readStarted;
+    private CountDownLatch releaseRead;
+
+    TestOp() {
+      super(MessageType.PING, 0);
+    }
+
+    @Override
+    protected void attemptSend(Connection cnx) throws Exception {
+      if (sendFailure != null) {
+        throw sendFailure;
+      }
+    }
+
+    @Override
+    Object attemptReadResponse(Connection cnx, ByteBuffer commBuffer) throws Exception {
+      if (readStarted != null) {
+        // a read that is not unblocked by interrupts, like one that is busy copying a response
+        readStarted.countDown();
+        boolean interrupted = false;
+        while (true) {
+          try {
+            releaseRead.await();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+        return "read";
+      }
+      Object response = responses.take();
+      if (response instanceof Exception) {
+        throw (Exception) response;
+      }
+      return response;
+    }
+
+    @Override
+    protected Object processResponse(Message msg) throws Exception {
+      return null;
+    }
+
+    @Override
+    protected boolean isErrorResponse(int msgType) {
+      return false;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+
+  private static class StringOp extends AbstractOp {
+    StringOp(String request) {
+      super(MessageType.REQUEST, 1);
+      getMessage().addStringPart(request);
+    }
+
+    @Override
+    protected Object processResponse(Message msg) throws Exception {
+      return msg.getPart(0).getString();
+    }
+
+    @Override
+    protected boolean isErrorResponse(int msgType) {
+      return false;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+}
@@ -31,6 +31,7 @@ import java.util.stream.IntStream;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -78,6 +79,11 @@ public class AttributeDescriptorTest {
     queryExecutionContext = spy(new QueryExecutionContext(null, mockCache));
   }
 
+  @After
+  public void tearDown() {
+    AttributeDescriptor.useMethodHandles = false;
+  }
+
   @Test
   @Parameters({PUBLIC_NO_ACCESSORS, PUBLIC_ACCESSOR_BY_NAME, PUBLIC_ACCESSOR_BY_GETTER,
       PRIVATE_ACCESSOR_BY_NAME, PRIVATE_ACCESSOR_BY_GETTER})
@@ -470,6 +476,45 @@ public class AttributeDescriptorTest {
     assertThat(result).isEqualTo(attributeName);
   }
 
+  @Test
+  @Parameters({PUBLIC_NO_ACCESSORS, PUBLIC_ACCESSOR_BY_NAME, PUBLIC_ACCESSOR_BY_GETTER,
+      PRIVATE_ACCESSOR_BY_NAME, PRIVATE_ACCESSOR_BY_GETTER})
+  public void readReflectionWithMethodHandlesShouldReturnSameValueAsReflection(
+      String attributeName) throws Exception {
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    AttributeDescriptor attributeDescriptor = new AttributeDescriptor(typeRegistry, attributeName);
+    Object expected = attributeDescriptor.readReflection(testBean, queryExecutionContext);
+
+    AttributeDescriptor.useMethodHandles = true;
+
+    assertThat(attributeDescriptor.readReflection(testBean, queryExecutionContext))
+        .isEqualTo(expected).isEqualTo(attributeName);
+  }
+
+  @Test
+  public void readReflectionWithMethodHandlesShouldReturnUndefinedWhenEntryDestroyedExceptionIsThrown()
+      throws Exception {
+    AttributeDescriptor.useMethodHandles = true;
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    AttributeDescriptor attributeDescriptor =
+        new AttributeDescriptor(typeRegistry, "throwEntryDestroyedExceptionMethod");
+
+    assertThat(attributeDescriptor.readReflection(testBean, queryExecutionContext))
+        .isEqualTo(QueryService.UNDEFINED);
+  }
+
+  @Test
+  public void readReflectionWithMethodHandlesShouldWrapExceptionThrownByMethod() {
+    AttributeDescriptor.useMethodHandles = true;
+    doReturn(true).when(methodInvocationAuthorizer).authorize(any(), any());
+    AttributeDescriptor attributeDescriptor =
+        new AttributeDescriptor(typeRegistry, "throwIllegalStateExceptionMethod");
+
+    assertThatThrownBy(() -> attributeDescriptor.readReflection(testBean, queryExecutionContext))
+        .isInstanceOf(QueryInvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
   @SuppressWarnings("unused")
   private static class TestBean {
     public final String publicAttributeWithoutAccessors;
@@ -498,6 +543,10 @@ public class AttributeDescriptorTest {
       throw new EntryDestroyedException();
     }
 
+    public String throwIllegalStateExceptionMethod() {
+      throw new IllegalStateException();
+    }
+
     TestBean(String publicAttributeWithoutAccessors,
         String publicAttributeWithPublicAccessor,
         String publicAttributeWithPublicGetterMethod,
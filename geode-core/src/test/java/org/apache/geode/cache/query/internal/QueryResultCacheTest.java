@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
+import org.apache.geode.internal.cache.LocalRegion;
+
+public class QueryResultCacheTest {
+  private QueryCacheStats stats;
+  private LocalRegion region;
+  private QueryResultCache resultCache;
+
+  @Before
+  public void setUp() {
+    stats = mock(QueryCacheStats.class);
+    region = mock(LocalRegion.class);
+    when(region.getModificationCount()).thenReturn(1L);
+    resultCache = new QueryResultCache(stats, 10);
+  }
+
+  @Test
+  public void cachedResultIsReturnedWhileRegionIsUnmodified() {
+    QueryResultCache.Key key = QueryResultCache.keyFor("select * from /r", new Object[] {1});
+    SelectResults<?> result = results(3);
+
+    resultCache.put(key, result, QueryResultCache.capture(Collections.singletonList(region)),
+        true);
+    QueryResultCache.CachedResult cached =
+        resultCache.get(QueryResultCache.keyFor("select  *\n from /r", new Object[] {1}));
+
+    assertThat(cached).isNotNull();
+    assertThat(cached.getResult()).containsExactly(0, 1, 2);
+    assertThat(cached.isIndexUsed()).isTrue();
+    verify(stats).incHits();
+  }
+
+  @Test
+  public void callersCannotChangeCachedResult() {
+    QueryResultCache.Key key = QueryResultCache.keyFor("select * from /r", new Object[0]);
+    SelectResults<Object> result = results(3);
+    resultCache.put(key, result, QueryResultCache.capture(Collections.singletonList(region)),
+        false);
+
+    result.clear();
+    SelectResults<?> first = resultCache.get(key).getResult();
+    first.remove(1);
+    SelectResults<?> second = resultCache.get(key).getResult();
+
+    assertThat(first).containsExactly(0, 2);
+    assertThat(second).containsExactly(0, 1, 2);
+    assertThat(second.getCollectionType().getElementType().resolveClass())
+        .isEqualTo(Integer.class);
+  }
+
+  @Test
+  public void concurrentPutsAndGetsKeepResultCountWithinLimit() throws Exception {
+    QueryResultCache.RegionVersions versions =
+        QueryResultCache.capture(Collections.singletonList(region));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        int offset = thread * 100;
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < 100; i++) {
+            QueryResultCache.Key key =
+                QueryResultCache.keyFor("select * from /r", new Object[] {offset + i});
+            resultCache.put(key, results(3), versions, false);
+            resultCache.get(key);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(resultCache.size()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  public void cachedResultIsDroppedOnceRegionIsModified() {
+    QueryResultCache.Key key = QueryResultCache.keyFor("select * from /r", new Object[0]);
+    resultCache.put(key, results(3), QueryResultCache.capture(Collections.singletonList(region)),
+        false);
+
+    when(region.getModificationCount()).thenReturn(2L);
+
+    assertThat(resultCache.get(key)).isNull();
+    assertThat(resultCache.size()).isZero();
+    verify(stats).incInvalidations();
+  }
+
+  @Test
+  public void leastRecentlyUsedResultsAreEvicted() {
+    QueryResultCache.RegionVersions versions =
+        QueryResultCache.capture(Collections.singletonList(region));
+    QueryResultCache.Key first = QueryResultCache.keyFor("select * from /r", new Object[] {1});
+    QueryResultCache.Key second = QueryResultCache.keyFor("select * from /r", new Object[] {2});
+    QueryResultCache.Key third = QueryResultCache.keyFor("select * from /r", new Object[] {3});
+    resultCache.put(first, results(4), versions, false);
+    resultCache.put(second, results(4), versions, false);
+    resultCache.get(first);
+
+    resultCache.put(third, results(4), versions, false);
+
+    assertThat(resultCache.size()).isEqualTo(2);
+    assertThat(resultCache.get(first)).isNotNull();
+    assertThat(resultCache.get(second)).isNull();
+    verify(stats).incEvictions();
+  }
+
+  @Test
+  public void resultLargerThanLimitIsNotCached() {
+    QueryResultCache.Key key = QueryResultCache.keyFor("select * from /r", new Object[0]);
+
+    resultCache.put(key, results(11), QueryResultCache.capture(Collections.singletonList(region)),
+        false);
+
+    assertThat(resultCache.size()).isZero();
+  }
+
+  @Test
+  public void queryWithNonSimpleParameterHasNoKey() {
+    assertThat(QueryResultCache.keyFor("select * from $1", new Object[] {region})).isNull();
+  }
+
+  @Test
+  public void normalizeKeepsWhitespaceInStringLiterals() {
+    assertThat(QueryResultCache.normalize("  select *  from /r\twhere name = 'a  b' "))
+        .isEqualTo("select * from /r where name = 'a  b'");
+  }
+
+  private SelectResults<Object> results(int size) {
+    List<Object> elements = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      elements.add(i);
+    }
+    return new ResultsCollectionWrapper(new ObjectTypeImpl(Integer.class), elements);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class IndexHistogramTest {
+
+  @Test
+  public void uniformKeysAreEstimatedExactly() {
+    IndexHistogram.Builder builder = new IndexHistogram.Builder(1000, 10, 0);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(builder.add(i)).isTrue();
+    }
+    IndexHistogram histogram = builder.build();
+
+    assertThat(histogram.getTotal()).isEqualTo(1000);
+    assertThat(histogram.getBucketCount()).isEqualTo(10);
+    assertThat(histogram.estimateLessThan(150)).isEqualTo(150);
+    assertThat(histogram.estimateGreaterThan(150)).isEqualTo(850);
+  }
+
+  @Test
+  public void skewedKeysAreEstimatedByBucket() {
+    // 900 keys between 0 and 9, then 100 keys between 10000 and 10099
+    IndexHistogram.Builder builder = new IndexHistogram.Builder(1000, 20, 0);
+    for (int i = 0; i < 900; i++) {
+      builder.add(i / 100);
+    }
+    for (int i = 0; i < 100; i++) {
+      builder.add(10000 + i);
+    }
+    IndexHistogram histogram = builder.build();
+
+    // linear interpolation between the smallest and largest key would estimate about 1
+    assertThat((double) histogram.estimateLessThan(100)).isCloseTo(900, within(60.0));
+    assertThat((double) histogram.estimateGreaterThan(10050)).isCloseTo(50, within(10.0));
+  }
+
+  @Test
+  public void keysOutsideTheRangeAreEstimatedAsNoneOrAll() {
+    IndexHistogram.Builder builder = new IndexHistogram.Builder(100, 4, 0);
+    for (int i = 0; i < 100; i++) {
+      builder.add(10.0 + i);
+    }
+    IndexHistogram histogram = builder.build();
+
+    assertThat(histogram.estimateLessThan(5)).isZero();
+    assertThat(histogram.estimateLessThan(500)).isEqualTo(100);
+    assertThat(histogram.estimateGreaterThan(500)).isZero();
+  }
+
+  @Test
+  public void moreKeysThanExpectedAreAddedToTheLastBucket() {
+    IndexHistogram.Builder builder = new IndexHistogram.Builder(100, 4, 0);
+    for (int i = 0; i < 200; i++) {
+      builder.add(i);
+    }
+    IndexHistogram histogram = builder.build();
+
+    assertThat(histogram.getTotal()).isEqualTo(200);
+    assertThat(histogram.getBucketCount()).isEqualTo(5);
+    assertThat(histogram.estimateLessThan(200)).isEqualTo(200);
+  }
+
+  @Test
+  public void noHistogramIsBuiltWithoutKeys() {
+    assertThat(new IndexHistogram.Builder(100, 4, 0).build()).isNull();
+  }
+
+  @Test
+  public void nonNumericKeysAreRejected() {
+    assertThat(new IndexHistogram.Builder(100, 4, 0).add("key")).isFalse();
+  }
+
+  @Test
+  public void histogramBecomesStaleAfterManyUpdates() {
+    IndexHistogram.Builder builder = new IndexHistogram.Builder(20000, 4, 500);
+    for (int i = 0; i < 20000; i++) {
+      builder.add(i);
+    }
+    IndexHistogram histogram = builder.build();
+
+    assertThat(histogram.isStale(500 + 2000)).isFalse();
+    assertThat(histogram.isStale(500 + 2001)).isTrue();
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.query.internal.index;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -21,6 +22,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -74,4 +77,10 @@ public class IndexManagerTest {
     verify(mockIndex, times(1)).markValid(false);
     verify((AbstractIndex) mockIndex.prIndex, times(1)).markValid(false);
   }
+
+  @Test
+  public void waitForIndexUpdatesReturnsImmediatelyWhenMaintenanceIsSynchronous()
+      throws InterruptedException {
+    assertThat(indexManager.waitForIndexUpdates(0, TimeUnit.MILLISECONDS)).isTrue();
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.serialization.KnownVersion;
+
+public class ReplyCoalescerTest {
+  private final ReplySender replySender = mock(ReplySender.class);
+  private final InternalDistributedMember recipient = mock(InternalDistributedMember.class);
+  private final List<DistributionMessage> sent = new CopyOnWriteArrayList<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private volatile boolean threadOwnsResources;
+  private ReplyCoalescer coalescer;
+
+  @Before
+  public void setUp() {
+    when(recipient.getVersion()).thenReturn(KnownVersion.CURRENT);
+    when(replySender.putOutgoing(any())).thenAnswer(invocation -> {
+      sent.add(invocation.getArgument(0));
+      if (sent.size() == 1) {
+        release.await();
+      }
+      return null;
+    });
+    coalescer = new ReplyCoalescer(replySender, () -> threadOwnsResources);
+  }
+
+  @Test
+  public void sendsAckRightAwayWhenNoOtherAckIsBeingSent() {
+    release.countDown();
+
+    assertThat(coalescer.sendAck(recipient, 7)).isTrue();
+
+    assertThat(sent).hasSize(1);
+    assertThat(sent.get(0)).isExactlyInstanceOf(ReplyMessage.class);
+    assertThat(((ReplyMessage) sent.get(0)).processorId).isEqualTo(7);
+    assertThat(sent.get(0).getRecipients()).containsExactly(recipient);
+  }
+
+  @Test
+  public void batchesAcksQueuedWhileAnAckIsBeingSent() throws InterruptedException {
+    Thread first = new Thread(() -> coalescer.sendAck(recipient, 1));
+    first.start();
+    await().until(() -> sent.size() == 1);
+    Thread second = new Thread(() -> coalescer.sendAck(recipient, 2));
+    Thread third = new Thread(() -> coalescer.sendAck(recipient, 3));
+    second.start();
+    third.start();
+    await().until(() -> second.getState() == Thread.State.WAITING
+        && third.getState() == Thread.State.WAITING);
+
+    release.countDown();
+    first.join();
+    second.join();
+    third.join();
+
+    assertThat(sent).hasSize(2);
+    assertThat(((ReplyMessage) sent.get(0)).processorId).isEqualTo(1);
+    assertThat(sent.get(1)).isInstanceOf(BatchedReplyMessage.class);
+    assertThat(((BatchedReplyMessage) sent.get(1)).getProcessorIds())
+        .containsExactlyInAnyOrder(2, 3);
+  }
+
+  @Test
+  public void sendsSeparateAcksToMembersOlderThanBatches() throws InterruptedException {
+    when(recipient.getVersion()).thenReturn(KnownVersion.GEODE_1_14_0);
+    Thread first = new Thread(() -> coalescer.sendAck(recipient, 1));
+    first.start();
+    await().until(() -> sent.size() == 1);
+    Thread second = new Thread(() -> coalescer.sendAck(recipient, 2));
+    Thread third = new Thread(() -> coalescer.sendAck(recipient, 3));
+    second.start();
+    third.start();
+    await().until(() -> second.getState() == Thread.State.WAITING
+        && third.getState() == Thread.State.WAITING);
+
+    release.countDown();
+    first.join();
+    second.join();
+    third.join();
+
+    assertThat(sent).hasSize(3).allMatch(message -> message.getClass() == ReplyMessage.class);
+  }
+
+  @Test
+  public void doesNotCoalesceAcksOfThreadsThatOwnTheirSockets() throws InterruptedException {
+    Thread first = new Thread(() -> coalescer.sendAck(recipient, 1));
+    first.start();
+    await().until(() -> sent.size() == 1);
+    threadOwnsResources = true;
+
+    // returns right away instead of queueing behind the ack being sent by the other thread
+    assertThat(coalescer.sendAck(recipient, 2)).isFalse();
+
+    release.countDown();
+    first.join();
+    assertThat(sent).hasSize(1);
+    assertThat(((ReplyMessage) sent.get(0)).processorId).isEqualTo(1);
+  }
+}
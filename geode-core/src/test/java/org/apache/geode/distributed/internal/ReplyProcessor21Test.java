@@ -14,6 +14,7 @@
  */
 package org.apache.geode.distributed.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
@@ -76,6 +77,31 @@ public class ReplyProcessor21Test {
   }
 
 
+  @Test
+  public void countsRepliesStillExpected() {
+    DistributionManager dm = mock(DistributionManager.class);
+    when(dm.getSystem()).thenReturn(mock(InternalDistributedSystem.class));
+    when(dm.getCancelCriterion()).thenReturn(mock(CancelCriterion.class));
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    InternalDistributedMember other = mock(InternalDistributedMember.class);
+    ReplyProcessor21 rp = new ReplyProcessor21(dm, Arrays.asList(member, member, other));
+    ReplyMessage reply = new ReplyMessage();
+    reply.setSender(member);
+
+    rp.process(reply);
+    assertThat(rp.numMembers()).isEqualTo(2);
+    assertThat(rp.stillWaiting()).isTrue();
+
+    rp.memberDeparted(dm, member, true);
+    assertThat(rp.numMembers()).isEqualTo(1);
+
+    reply = new ReplyMessage();
+    reply.setSender(other);
+    rp.process(reply);
+    assertThat(rp.numMembers()).isZero();
+    assertThat(rp.stillWaiting()).isFalse();
+  }
+
   @Test
   public void shouldBeMockable() throws Exception {
     ReplyProcessor21 mockReplyProcessor21 = mock(ReplyProcessor21.class);
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.geode.internal.monitoring.ThreadsMonitoring;
+
+public class VirtualThreadPerTaskExecutorTest {
+  // platform threads stand in for virtual threads so that this runs on any JDK
+  private final ThreadFactory threadFactory = Thread::new;
+  private final PoolStatHelper poolStatHelper = mock(PoolStatHelper.class);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private VirtualThreadPerTaskExecutor executor;
+
+  @After
+  public void tearDown() throws InterruptedException {
+    release.countDown();
+    if (executor != null) {
+      executor.shutdownNow();
+      executor.awaitTermination(30, SECONDS);
+    }
+  }
+
+  @Test
+  public void boundsNumberOfRunningTasks() {
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, 2, Integer.MAX_VALUE, null, null,
+        poolStatHelper, null, ThreadsMonitoring.Mode.PooledExecutor);
+    AtomicInteger started = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      executor.execute(() -> {
+        started.incrementAndGet();
+        awaitRelease();
+      });
+    }
+
+    await().until(() -> started.get() == 2);
+    assertThat(executor.getTaskCount()).isEqualTo(3);
+
+    release.countDown();
+
+    await().until(() -> started.get() == 3 && executor.getTaskCount() == 0);
+    verify(poolStatHelper, times(3)).startJob();
+    verify(poolStatHelper, times(3)).endJob();
+  }
+
+  @Test
+  public void runsTaskInCallerWhenSaturatedIfRequested() {
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, 1, Integer.MAX_VALUE, () -> true,
+        null, null, null, ThreadsMonitoring.Mode.FunctionExecutor);
+    executor.execute(this::awaitRelease);
+    AtomicReference<Thread> runner = new AtomicReference<>();
+
+    executor.execute(() -> runner.set(Thread.currentThread()));
+
+    assertThat(runner.get()).isSameAs(Thread.currentThread());
+  }
+
+  @Test
+  public void wrapsEachTask() {
+    AtomicInteger wrapped = new AtomicInteger();
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, Integer.MAX_VALUE,
+        Integer.MAX_VALUE, null, command -> {
+          wrapped.incrementAndGet();
+          command.run();
+        }, null, null, ThreadsMonitoring.Mode.PooledExecutor);
+
+    executor.execute(() -> {
+    });
+    executor.execute(() -> {
+    });
+
+    await().until(() -> wrapped.get() == 2);
+  }
+
+  @Test
+  public void rejectsTasksAfterShutdownAndTerminatesWhenTasksComplete()
+      throws InterruptedException {
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, 1, Integer.MAX_VALUE, null, null,
+        null, null, ThreadsMonitoring.Mode.PooledExecutor);
+    executor.execute(this::awaitRelease);
+
+    executor.shutdown();
+
+    assertThatThrownBy(() -> executor.execute(() -> {
+    })).isInstanceOf(RejectedExecutionException.class);
+    assertThat(executor.isTerminated()).isFalse();
+
+    release.countDown();
+
+    assertThat(executor.awaitTermination(30, SECONDS)).isTrue();
+    assertThat(executor.isTerminated()).isTrue();
+  }
+
+  @Test
+  public void shutdownNowInterruptsTasksWaitingToRun() throws InterruptedException {
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, 1, Integer.MAX_VALUE, null, null,
+        null, null, ThreadsMonitoring.Mode.PooledExecutor);
+    AtomicInteger started = new AtomicInteger();
+    executor.execute(() -> {
+      started.incrementAndGet();
+      while (true) {
+        try {
+          release.await();
+          return;
+        } catch (InterruptedException ignored) {
+          // keep the permit until released
+        }
+      }
+    });
+    await().until(() -> started.get() == 1);
+    executor.execute(started::incrementAndGet);
+
+    executor.shutdownNow();
+    release.countDown();
+
+    assertThat(executor.awaitTermination(30, SECONDS)).isTrue();
+    assertThat(started.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void blocksSubmitterWhileTooManyTasksWait() throws InterruptedException {
+    executor = new VirtualThreadPerTaskExecutor(threadFactory, 1, 1, null, null, null, null,
+        ThreadsMonitoring.Mode.PooledExecutor);
+    AtomicInteger started = new AtomicInteger();
+    executor.execute(() -> {
+      started.incrementAndGet();
+      awaitRelease();
+    });
+    executor.execute(started::incrementAndGet);
+
+    Thread submitter = new Thread(() -> executor.execute(started::incrementAndGet));
+    submitter.start();
+    await().until(() -> submitter.getState() == Thread.State.WAITING);
+    assertThat(executor.getTaskCount()).isEqualTo(2);
+
+    release.countDown();
+    submitter.join();
+
+    await().until(() -> started.get() == 3 && executor.getTaskCount() == 0);
+  }
+
+  @Test
+  public void isNotSupportedWhenVirtualThreadsArePreviewFeaturesThatAreNotEnabled() {
+    assertThat(VirtualThreadPerTaskExecutor.isSupported(() -> {
+      throw new UnsupportedOperationException("Preview Features not enabled");
+    })).isFalse();
+    assertThat(VirtualThreadPerTaskExecutor.isSupported(() -> {
+      throw new InvocationTargetException(new UnsupportedOperationException());
+    })).isFalse();
+  }
+
+  @Test
+  public void isNotSupportedWhenJdkHasNoVirtualThreads() {
+    assertThat(VirtualThreadPerTaskExecutor.isSupported(() -> {
+      throw new NoSuchMethodException("ofVirtual");
+    })).isFalse();
+  }
+
+  @Test
+  public void isSupportedOnlyIfVirtualThreadFactoryCanBeBuilt() {
+    boolean canBuildFactory;
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+      canBuildFactory = true;
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      canBuildFactory = false;
+    }
+
+    assertThat(VirtualThreadPerTaskExecutor.isSupported()).isEqualTo(canBuildFactory);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
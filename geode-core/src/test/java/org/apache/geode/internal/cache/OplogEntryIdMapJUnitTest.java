@@ -87,4 +87,17 @@ public class OplogEntryIdMapJUnitTest {
     }
     assertEquals(777777 + 1 + 777777 + 1 + 1, count);
   }
+
+  @Test
+  public void testPresizedMapHoldsMoreThanExpectedSize() {
+    OplogEntryIdMap m = new OplogEntryIdMap(1000);
+    for (long i = 1; i <= 5000; i++) {
+      m.put(i, i);
+    }
+    m.put(0x00000000FFFFFFFFL + 1, 0L);
+
+    assertEquals(5000 + 1, m.size());
+    assertEquals(5000L, m.get(5000));
+    assertEquals(0L, m.get(0x00000000FFFFFFFFL + 1));
+  }
 }
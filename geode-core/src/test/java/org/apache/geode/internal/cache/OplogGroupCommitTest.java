@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.persistence.UninterruptibleFileChannel;
+
+public class OplogGroupCommitTest {
+  private final UninterruptibleFileChannel channel = mock(UninterruptibleFileChannel.class);
+  private final OplogGroupCommit groupCommit = new OplogGroupCommit(channel);
+
+  @Test
+  public void syncForcesChannelUpToWrittenPosition() throws Exception {
+    groupCommit.written(100);
+
+    groupCommit.sync();
+
+    verify(channel).force(true);
+    assertThat(groupCommit.getSyncedPosition()).isEqualTo(100);
+  }
+
+  @Test
+  public void syncDoesNotForceWhenNothingNewWasWritten() throws Exception {
+    groupCommit.written(100);
+    groupCommit.sync();
+
+    groupCommit.sync();
+    groupCommit.sync(50);
+
+    verify(channel, times(1)).force(anyBoolean());
+    assertThat(groupCommit.getSyncCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void syncForcesAgainAfterNewWrite() throws Exception {
+    groupCommit.written(100);
+    groupCommit.sync();
+    groupCommit.written(200);
+
+    groupCommit.sync();
+
+    verify(channel, times(2)).force(true);
+    assertThat(groupCommit.getSyncedPosition()).isEqualTo(200);
+  }
+
+  @Test
+  public void writtenPositionNeverMovesBackwards() {
+    groupCommit.written(200);
+    groupCommit.written(100);
+
+    assertThat(groupCommit.getWrittenPosition()).isEqualTo(200);
+  }
+
+  @Test
+  public void failedForceDoesNotAdvanceSyncedPosition() throws Exception {
+    groupCommit.written(100);
+    doThrow(new IOException("disk gone")).when(channel).force(true);
+
+    Throwable thrown = catchThrowable(groupCommit::sync);
+
+    assertThat(thrown).isInstanceOf(IOException.class);
+    assertThat(groupCommit.getSyncedPosition()).isEqualTo(0);
+    assertThat(groupCommit.getSyncCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void closedChannelIsReportedToWriterWhoseRecordIsNotDurable() throws Exception {
+    groupCommit.written(100);
+    doThrow(new ClosedChannelException()).when(channel).force(true);
+
+    Throwable thrown = catchThrowable(groupCommit::sync);
+
+    assertThat(thrown).isInstanceOf(ClosedChannelException.class);
+    assertThat(groupCommit.getSyncedPosition()).isEqualTo(0);
+  }
+
+  @Test
+  public void writerSyncedBeforeCloseDoesNotNeedChannel() throws Exception {
+    groupCommit.written(100);
+    groupCommit.sync();
+    doThrow(new ClosedChannelException()).when(channel).force(true);
+
+    groupCommit.sync(100);
+
+    verify(channel, times(1)).force(true);
+  }
+
+  @Test
+  public void writerArrivingDuringForceIsCoveredByNextForceOnly() throws Exception {
+    CountDownLatch forceStarted = new CountDownLatch(1);
+    CountDownLatch releaseForce = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      forceStarted.countDown();
+      releaseForce.await(getTimeout().toMillis(), MILLISECONDS);
+      return null;
+    }).doAnswer(invocation -> null).when(channel).force(true);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      groupCommit.written(100);
+      Future<?> leader = executor.submit(() -> {
+        groupCommit.sync();
+        return null;
+      });
+      assertThat(forceStarted.await(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+
+      // written after the running force started, so it must not be satisfied by that force
+      groupCommit.written(200);
+      Future<?> follower = executor.submit(() -> {
+        groupCommit.sync();
+        return null;
+      });
+      releaseForce.countDown();
+
+      leader.get(getTimeout().toMillis(), MILLISECONDS);
+      follower.get(getTimeout().toMillis(), MILLISECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(channel, times(2)).force(true);
+    assertThat(groupCommit.getSyncedPosition()).isEqualTo(200);
+  }
+
+  @Test
+  public void syncOfAlreadyDurablePositionDoesNotTouchChannel() throws Exception {
+    groupCommit.sync(0);
+
+    verify(channel, never()).force(anyBoolean());
+  }
+}
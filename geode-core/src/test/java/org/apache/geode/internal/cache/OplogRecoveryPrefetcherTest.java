@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OplogRecoveryPrefetcherTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final AtomicLong prefetchedBytes = new AtomicLong();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void advanceSchedulesOnlyFilesWithinLookahead() throws Exception {
+    List<File> files = createFiles(6, 10);
+    OplogRecoveryPrefetcher prefetcher =
+        new OplogRecoveryPrefetcher(files, 2, executor, prefetchedBytes::addAndGet);
+
+    prefetcher.advance(0);
+
+    assertThat(prefetcher.getScheduledCount()).isEqualTo(2);
+    await().untilAsserted(() -> assertThat(prefetchedBytes.get()).isEqualTo(20));
+  }
+
+  @Test
+  public void advanceDoesNotScheduleAFileTwice() throws Exception {
+    List<File> files = createFiles(6, 10);
+    OplogRecoveryPrefetcher prefetcher =
+        new OplogRecoveryPrefetcher(files, 2, executor, prefetchedBytes::addAndGet);
+
+    prefetcher.advance(0);
+    prefetcher.advance(1);
+    prefetcher.advance(2);
+    prefetcher.advance(5);
+
+    assertThat(prefetcher.getScheduledCount()).isEqualTo(4);
+    await().untilAsserted(() -> assertThat(prefetchedBytes.get()).isEqualTo(40));
+  }
+
+  @Test
+  public void missingAndNullFilesAreSkipped() throws Exception {
+    List<File> files = createFiles(1, 10);
+    files.add(null);
+    files.add(new File(temporaryFolder.getRoot(), "missing.crf"));
+    files.addAll(createFiles(1, 7));
+    OplogRecoveryPrefetcher prefetcher =
+        new OplogRecoveryPrefetcher(files, 3, executor, prefetchedBytes::addAndGet);
+
+    prefetcher.advance(0);
+
+    assertThat(prefetcher.getScheduledCount()).isEqualTo(2);
+    await().untilAsserted(() -> assertThat(prefetchedBytes.get()).isEqualTo(7));
+  }
+
+  @Test
+  public void closeShutsDownExecutor() throws Exception {
+    OplogRecoveryPrefetcher prefetcher = new OplogRecoveryPrefetcher(createFiles(3, 10), 2,
+        executor, prefetchedBytes::addAndGet);
+    prefetcher.advance(0);
+
+    prefetcher.close();
+
+    assertThat(executor.isShutdown()).isTrue();
+  }
+
+  @Test
+  public void createReturnsNullWhenThereIsNothingToReadAhead() throws Exception {
+    assertThat(OplogRecoveryPrefetcher.create(createFiles(1, 10), prefetchedBytes::addAndGet))
+        .isNull();
+  }
+
+  private List<File> createFiles(int count, int size) throws Exception {
+    List<File> files = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      File file = temporaryFolder.newFile();
+      byte[] bytes = new byte[size];
+      Arrays.fill(bytes, (byte) i);
+      Files.write(file.toPath(), bytes);
+      files.add(file);
+    }
+    return files;
+  }
+}
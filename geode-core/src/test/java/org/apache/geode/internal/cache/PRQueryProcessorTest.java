@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class PRQueryProcessorTest {
+
+  @Test
+  public void configuredNumThreadsIsUsedAsIs() {
+    assertThat(PRQueryProcessor.resolveNumThreads(1, 16)).isEqualTo(1);
+    assertThat(PRQueryProcessor.resolveNumThreads(4, 16)).isEqualTo(4);
+  }
+
+  @Test
+  public void zeroOrLessUsesAvailableProcessors() {
+    assertThat(PRQueryProcessor.resolveNumThreads(0, 16)).isEqualTo(16);
+    assertThat(PRQueryProcessor.resolveNumThreads(-1, 8)).isEqualTo(8);
+  }
+
+  @Test
+  public void atLeastOneThreadIsUsed() {
+    assertThat(PRQueryProcessor.resolveNumThreads(0, 0)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned.rebalance;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.cache.partitioned.rebalance.BucketOperator.Completion;
+
+public class ParallelBucketOperatorTest {
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final ExecutorService caller = Executors.newSingleThreadExecutor();
+  private final BucketOperator delegate = mock(BucketOperator.class);
+  private final InternalDistributedMember member1 = mock(InternalDistributedMember.class);
+  private final InternalDistributedMember member2 = mock(InternalDistributedMember.class);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger running = new AtomicInteger();
+
+  @Before
+  public void setUp() {
+    doAnswer(invocation -> {
+      running.incrementAndGet();
+      release.await(getTimeout().toMillis(), MILLISECONDS);
+      invocation.<Completion>getArgument(3).onSuccess();
+      return null;
+    }).when(delegate).createRedundantBucket(any(), anyInt(), any(), any());
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    caller.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void operationsForDifferentMembersRunConcurrently() {
+    ParallelBucketOperator operator = new ParallelBucketOperator(4, 1, executor, delegate);
+
+    operator.createRedundantBucket(member1, 1, Collections.emptyMap(), mock(Completion.class));
+    operator.createRedundantBucket(member2, 2, Collections.emptyMap(), mock(Completion.class));
+
+    await().untilAsserted(() -> assertThat(running.get()).isEqualTo(2));
+  }
+
+  @Test
+  public void operationForBusyMemberWaitsForPerMemberLimit() {
+    ParallelBucketOperator operator = new ParallelBucketOperator(4, 1, executor, delegate);
+    operator.createRedundantBucket(member1, 1, Collections.emptyMap(), mock(Completion.class));
+    await().untilAsserted(() -> assertThat(running.get()).isEqualTo(1));
+
+    operator.createRedundantBucket(member1, 2, Collections.emptyMap(), mock(Completion.class));
+
+    assertThat(running.get()).isEqualTo(1);
+
+    release.countDown();
+    operator.waitForOperations();
+    assertThat(running.get()).isEqualTo(2);
+    verify(delegate).createRedundantBucket(eq(member1), eq(2), any(), any());
+  }
+
+  @Test
+  public void busyMemberDoesNotBlockOperationsForOtherMembers() throws Exception {
+    ParallelBucketOperator operator = new ParallelBucketOperator(2, 1, executor, delegate);
+    operator.createRedundantBucket(member1, 1, Collections.emptyMap(), mock(Completion.class));
+    await().untilAsserted(() -> assertThat(running.get()).isEqualTo(1));
+
+    Future<?> calls = caller.submit(() -> {
+      operator.createRedundantBucket(member1, 2, Collections.emptyMap(), mock(Completion.class));
+      operator.createRedundantBucket(member1, 3, Collections.emptyMap(), mock(Completion.class));
+      operator.createRedundantBucket(member2, 4, Collections.emptyMap(), mock(Completion.class));
+    });
+
+    calls.get(getTimeout().toMillis(), MILLISECONDS);
+    await().untilAsserted(() -> assertThat(running.get()).isEqualTo(2));
+    verify(delegate).createRedundantBucket(eq(member2), eq(4), any(), any());
+
+    release.countDown();
+    operator.waitForOperations();
+    assertThat(running.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void completionsAreNotifiedByWaitForOperations() {
+    ParallelBucketOperator operator = new ParallelBucketOperator(4, 2, executor, delegate);
+    Completion completion = mock(Completion.class);
+    operator.createRedundantBucket(member1, 1, Collections.emptyMap(), completion);
+
+    release.countDown();
+    operator.waitForOperations();
+
+    verify(completion).onSuccess();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.snapshot.GFSnapshot.GFSnapshotExporter;
+import org.apache.geode.internal.cache.snapshot.GFSnapshot.GFSnapshotImporter;
+import org.apache.geode.internal.cache.snapshot.SnapshotPacket.SnapshotRecord;
+
+public class GFSnapshotTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private InternalCache cache;
+
+  @Before
+  public void setUp() {
+    cache = mock(InternalCache.class);
+    when(cache.getPdxRegistry()).thenThrow(new CacheClosedException());
+  }
+
+  @Test
+  public void uncompressedSnapshotCanBeRead() throws Exception {
+    File snapshot = writeSnapshot(false);
+
+    assertSnapshotContents(snapshot, GFSnapshot.SNAP_VER_2);
+  }
+
+  @Test
+  public void compressedSnapshotCanBeRead() throws Exception {
+    File snapshot = writeSnapshot(true);
+
+    assertSnapshotContents(snapshot, GFSnapshot.SNAP_VER_3);
+  }
+
+  @Test
+  public void compressedSnapshotIsSmallerForRepetitiveValues() throws Exception {
+    File uncompressed = writeSnapshot(false);
+    File compressed = writeSnapshot(true);
+
+    assertThat(compressed.length()).isLessThan(uncompressed.length());
+  }
+
+  private File writeSnapshot(boolean compress) throws Exception {
+    File snapshot = temporaryFolder.newFile();
+    GFSnapshotExporter exporter = new GFSnapshotExporter(snapshot, "/region", cache, compress);
+    for (int i = 0; i < 1000; i++) {
+      exporter.writeSnapshotEntry(new SnapshotRecord("key-" + i, "value-value-value-" + i));
+    }
+    exporter.close();
+    return snapshot;
+  }
+
+  private void assertSnapshotContents(File snapshot, int version) throws Exception {
+    GFSnapshotImporter importer = new GFSnapshotImporter(snapshot, null);
+    try {
+      assertThat(importer.getVersion()).isEqualTo((byte) version);
+      assertThat(importer.getRegionName()).isEqualTo("/region");
+      for (int i = 0; i < 1000; i++) {
+        SnapshotRecord record = importer.readSnapshotRecord();
+        assertThat((String) record.getKeyObject()).isEqualTo("key-" + i);
+        assertThat((String) record.getValueObject()).isEqualTo("value-value-value-" + i);
+      }
+      assertThat(importer.readSnapshotRecord()).isNull();
+    } finally {
+      importer.close();
+    }
+  }
+}
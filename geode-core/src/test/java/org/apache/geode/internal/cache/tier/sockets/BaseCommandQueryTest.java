@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.geode.internal.cache.tier.sockets.BaseCommand.MAXIMUM_CHUNK_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.apache.geode.internal.cache.tier.sockets.command.Query;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category({ClientServerTest.class})
+public class BaseCommandQueryTest {
+  private final BaseCommandQuery command = (BaseCommandQuery) Query.getCommand();
+  private final ServerConnection serverConnection = mock(ServerConnection.class);
+  private final ChunkedMessage responseMessage = mock(ChunkedMessage.class);
+  private final SecurityService securityService = mock(SecurityService.class);
+  private final CollectionType collectionType = mock(CollectionType.class);
+
+  @Before
+  public void setUp() {
+    when(serverConnection.getQueryResponseMessage()).thenReturn(responseMessage);
+    when(securityService.postProcess(any(), any(), any(), anyBoolean()))
+        .thenAnswer(invocation -> invocation.getArgument(2));
+  }
+
+  @Test
+  public void objectArrayChunksAreFullExceptTheLast() throws Exception {
+    List<Integer> results = results(MAXIMUM_CHUNK_SIZE * 2 + 1);
+
+    command.sendResultsAsObjectArray(selectResults(results), 3, serverConnection, false,
+        collectionType, "query", null, true);
+
+    List<Object[]> chunks = sentChunks(Object[].class);
+    assertThat(chunks).extracting(chunk -> chunk.length)
+        .containsExactly(MAXIMUM_CHUNK_SIZE, MAXIMUM_CHUNK_SIZE, 1);
+    List<Object> sent = new ArrayList<>();
+    chunks.forEach(chunk -> sent.addAll(Arrays.asList(chunk)));
+    assertThat(sent).isEqualTo(results);
+    assertThat(lastChunkFlags()).containsExactly(false, false, true);
+  }
+
+  @Test
+  public void objectArrayResultsFillingTheLastChunkExactlyAreSentInFullChunks()
+      throws Exception {
+    List<Integer> results = results(MAXIMUM_CHUNK_SIZE * 2);
+
+    command.sendResultsAsObjectArray(selectResults(results), 2, serverConnection, false,
+        collectionType, "query", null, true);
+
+    assertThat(sentChunks(Object[].class)).extracting(chunk -> chunk.length)
+        .containsExactly(MAXIMUM_CHUNK_SIZE, MAXIMUM_CHUNK_SIZE);
+    assertThat(lastChunkFlags()).containsExactly(false, true);
+  }
+
+  @Test
+  public void objectPartListChunksAreFullExceptTheLast() throws Exception {
+    List<Integer> results = results(MAXIMUM_CHUNK_SIZE + 1);
+
+    command.sendResultsAsObjectPartList(2, serverConnection, results.iterator(), false,
+        collectionType, "query", null, true, securityService);
+
+    List<ObjectPartList> chunks = sentChunks(ObjectPartList.class);
+    assertThat(chunks).extracting(ObjectPartList::size)
+        .containsExactly(MAXIMUM_CHUNK_SIZE, 1);
+    List<Object> sent = new ArrayList<>();
+    chunks.forEach(chunk -> sent.addAll(chunk.getObjects()));
+    assertThat(sent).isEqualTo(results);
+    assertThat(lastChunkFlags()).containsExactly(false, true);
+  }
+
+  private static List<Integer> results(int size) {
+    return IntStream.range(0, size).boxed().collect(toList());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SelectResults<Object> selectResults(List<Integer> results) {
+    SelectResults<Object> selectResults = mock(SelectResults.class);
+    when(selectResults.iterator()).thenAnswer(invocation -> results.iterator());
+    return selectResults;
+  }
+
+  /**
+   * Every chunk is sent as the collection type followed by the chunk of results.
+   */
+  private <T> List<T> sentChunks(Class<T> chunkClass) {
+    ArgumentCaptor<Object> parts = ArgumentCaptor.forClass(Object.class);
+    verify(responseMessage, atLeastOnce()).addObjPart(parts.capture(), eq(false));
+    return parts.getAllValues().stream().filter(part -> part != collectionType)
+        .map(chunkClass::cast).collect(toList());
+  }
+
+  private List<Boolean> lastChunkFlags() {
+    ArgumentCaptor<Boolean> flags = ArgumentCaptor.forClass(Boolean.class);
+    verify(responseMessage, atLeastOnce()).setLastChunk(flags.capture());
+    return flags.getAllValues();
+  }
+}
@@ -14,15 +14,18 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -30,11 +33,15 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.internal.cache.tier.CachedRegionHelper;
+import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
@@ -218,4 +225,79 @@ public class MessageJUnitTest {
     }
   }
 
+  @Test
+  public void prefetchedHeaderIsCompletedByReceive() throws Exception {
+    try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+      serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      try (SocketChannel clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+          SocketChannel channel = serverChannel.accept()) {
+        channel.configureBlocking(false);
+        Message serverMessage = new Message(1, KnownVersion.CURRENT);
+        serverMessage.setComms(mock(ServerConnection.class), channel.socket(),
+            ByteBuffer.allocate(1000), mock(MessageStats.class));
+
+        assertFalse(serverMessage.prefetchHeader());
+
+        Message clientMessage = new Message(1, KnownVersion.CURRENT);
+        clientMessage.setComms(clientChannel.socket(), ByteBuffer.allocate(1000),
+            mock(MessageStats.class));
+        clientMessage.setMessageType(MessageType.PING);
+        clientMessage.addIntPart(42);
+        clientMessage.send();
+
+        await().until(serverMessage::prefetchHeader);
+        channel.configureBlocking(true);
+        serverMessage.receive();
+
+        assertEquals(MessageType.PING, serverMessage.getMessageType());
+        assertEquals(42, serverMessage.getPart(0).getInt());
+      }
+    }
+  }
+
+  @Test
+  public void clientCloseAfterResponseIsReadAsNormalDisconnect() throws Exception {
+    try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+      serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      try (SocketChannel clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+          SocketChannel channel = serverChannel.accept()) {
+        ServerConnection serverConnection = mock(ServerConnection.class);
+        CachedRegionHelper crHelper = mock(CachedRegionHelper.class);
+        CacheServerStats stats = mock(CacheServerStats.class);
+        when(serverConnection.getCachedRegionHelper()).thenReturn(crHelper);
+        when(serverConnection.getCacheServerStats()).thenReturn(stats);
+        Message request = new Message(1, KnownVersion.CURRENT);
+        request.setComms(serverConnection, channel.socket(), ByteBuffer.allocate(1000),
+            mock(MessageStats.class));
+        when(serverConnection.getRequestMessage()).thenReturn(request);
+
+        Message clientMessage = new Message(1, KnownVersion.CURRENT);
+        clientMessage.setComms(clientChannel.socket(), ByteBuffer.allocate(1000),
+            mock(MessageStats.class));
+        clientMessage.setMessageType(MessageType.PING);
+        clientMessage.addIntPart(42);
+        clientMessage.send();
+        assertEquals(MessageType.PING, BaseCommand.readRequest(serverConnection).getMessageType());
+
+        Message response = new Message(1, KnownVersion.CURRENT);
+        response.setComms(serverConnection, channel.socket(), ByteBuffer.allocate(1000),
+            mock(MessageStats.class));
+        response.setMessageType(MessageType.REPLY);
+        response.addIntPart(43);
+        response.send();
+        clientMessage.receive();
+        assertEquals(43, clientMessage.getPart(0).getInt());
+        clientChannel.close();
+
+        channel.configureBlocking(false);
+        await().until(request::prefetchHeader);
+        channel.configureBlocking(true);
+        BaseCommand.readRequest(serverConnection);
+
+        verify(stats).incAbandonedReadRequests();
+        verify(serverConnection).setFlagProcessMessagesAsFalse();
+        verify(serverConnection).setClientDisconnectedException(any(EOFException.class));
+      }
+    }
+  }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.serialization.KnownVersion;
+
+public class GatewayBatchValueCompressionTest {
+
+  @Test
+  public void compressedValueCanBeDecompressed() {
+    byte[] value = new byte[1000];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) (i % 10);
+    }
+
+    byte[] compressed = GatewayBatchValueCompression.compress(value);
+
+    assertThat(compressed.length).isLessThan(value.length);
+    assertThat(GatewayBatchValueCompression.decompress(compressed)).isEqualTo(value);
+  }
+
+  @Test
+  public void isNotEnabledForSitesOlderThanGeode115() {
+    assertThat(GatewayBatchValueCompression.isEnabled(KnownVersion.GEODE_1_14_0.ordinal()))
+        .isFalse();
+    assertThat(GatewayBatchValueCompression.isEnabled((short) -1)).isFalse();
+  }
+
+  @Test
+  public void flagsDoNotOverlap() {
+    assertThat(GatewayBatchValueCompression.POSSIBLE_DUPLICATE
+        & GatewayBatchValueCompression.VALUE_COMPRESSED).isZero();
+  }
+}
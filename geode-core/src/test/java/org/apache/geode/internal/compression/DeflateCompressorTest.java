@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.getTimeout;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+import org.junit.Test;
+
+import org.apache.geode.compression.CompressionException;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.internal.util.BlobHelper;
+
+public class DeflateCompressorTest {
+
+  @Test
+  public void compressedValueCanBeDecompressed() {
+    DeflateCompressor compressor = new DeflateCompressor();
+    byte[] value = "Hello, how are you? Hello, how are you?".getBytes(UTF_8);
+
+    assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+  }
+
+  @Test
+  public void emptyValueCanBeDecompressed() {
+    DeflateCompressor compressor = new DeflateCompressor();
+
+    assertThat(compressor.decompress(compressor.compress(new byte[0]))).isEmpty();
+  }
+
+  @Test
+  public void dictionaryImprovesRatioOfSmallSimilarValues() {
+    List<byte[]> samples = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      samples.add(value(i));
+    }
+    DeflateCompressor plain = new DeflateCompressor();
+    DeflateCompressor trained = new DeflateCompressor(Deflater.BEST_SPEED,
+        DeflateCompressor.trainDictionary(samples, DeflateCompressor.MAX_DICTIONARY_SIZE));
+    byte[] value = value(1000);
+
+    byte[] compressed = trained.compress(value);
+
+    assertThat(trained.decompress(compressed)).isEqualTo(value);
+    assertThat(compressed.length).isLessThan(plain.compress(value).length);
+  }
+
+  @Test
+  public void trainedDictionaryIsBoundedBySize() {
+    List<byte[]> samples = Arrays.asList(value(1), value(2), value(1), value(3));
+
+    byte[] dictionary = DeflateCompressor.trainDictionary(samples, 100);
+
+    assertThat(dictionary.length).isLessThanOrEqualTo(100);
+  }
+
+  @Test
+  public void compressorsWithDifferentDictionariesAreNotEqual() {
+    DeflateCompressor first = new DeflateCompressor(Deflater.BEST_SPEED, value(1));
+    DeflateCompressor second = new DeflateCompressor(Deflater.BEST_SPEED, value(2));
+
+    assertThat(first).isNotEqualTo(second);
+    assertThat(first).isEqualTo(new DeflateCompressor(Deflater.BEST_SPEED, value(1)));
+  }
+
+  @Test
+  public void deserializedCompressorDecompressesValues() throws Exception {
+    DeflateCompressor compressor = new DeflateCompressor(Deflater.BEST_COMPRESSION, value(1));
+    byte[] compressed = compressor.compress(value(2));
+
+    DeflateCompressor copy =
+        (DeflateCompressor) BlobHelper.deserializeBlob(BlobHelper.serializeToBlob(compressor));
+
+    assertThat(copy.decompress(compressed)).isEqualTo(value(2));
+  }
+
+  @Test
+  public void deserializedCompressorCompressesValues() throws Exception {
+    DeflateCompressor compressor = new DeflateCompressor(Deflater.BEST_COMPRESSION, value(1));
+
+    DeflateCompressor copy =
+        (DeflateCompressor) BlobHelper.deserializeBlob(BlobHelper.serializeToBlob(compressor));
+
+    assertThat(compressor.decompress(copy.compress(value(2)))).isEqualTo(value(2));
+  }
+
+  @Test
+  public void valuesCompressedConcurrentlyCanBeDecompressed() throws Exception {
+    DeflateCompressor compressor = new DeflateCompressor(Deflater.BEST_SPEED, value(1));
+    int threads = 4 * Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        int id = i;
+        results.add(executor.submit(() -> {
+          for (int j = 0; j < 100; j++) {
+            byte[] value = value(id * 1000 + j);
+            if (!Arrays.equals(compressor.decompress(compressor.compress(value)), value)) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(getTimeout().toMillis(), MILLISECONDS)).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void truncatedValueThrowsCompressionException() {
+    DeflateCompressor compressor = new DeflateCompressor();
+    byte[] compressed = compressor.compress(value(1));
+
+    assertThatThrownBy(
+        () -> compressor.decompress(Arrays.copyOf(compressed, compressed.length / 2)))
+            .isInstanceOf(CompressionException.class);
+  }
+
+  private static byte[] value(int id) {
+    return ("{\"id\":" + id + ",\"status\":\"active\",\"region\":\"EU\",\"owner\":\"user"
+        + (id % 7) + "\"}").getBytes(UTF_8);
+  }
+}
@@ -15,7 +15,12 @@
 package org.apache.geode.internal.tcp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.Socket;
@@ -23,7 +28,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.CancelCriterion;
@@ -31,11 +38,16 @@ import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.DMStats;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.test.junit.categories.MembershipTest;
 
 @Category(MembershipTest.class)
 public class ConnectionTableTest {
 
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private TCPConduit tcpConduit;
   private ConnectionTable connectionTable;
   private Socket socket;
   private PeerConnectionFactory factory;
@@ -52,7 +64,7 @@ public class ConnectionTableTest {
     CancelCriterion cancelCriterion = mock(CancelCriterion.class);
     DMStats dmStats = mock(DMStats.class);
 
-    TCPConduit tcpConduit = mock(TCPConduit.class);
+    tcpConduit = mock(TCPConduit.class);
     when(tcpConduit.getDM()).thenReturn(dm);
     when(tcpConduit.getCancelCriterion()).thenReturn(cancelCriterion);
     when(tcpConduit.getStats()).thenReturn(dmStats);
@@ -113,4 +125,73 @@ public class ConnectionTableTest {
       }
     }
   }
+
+  @Test
+  public void releasedThreadOwnedConnectionIsReusedByAnotherThread() throws Exception {
+    System.setProperty("p2p.MAX_IDLE_THREAD_OWNED_CONNECTIONS", "1");
+    ConnectionTable table = ConnectionTable.create(tcpConduit);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    connection.connected = true;
+    Map<DistributedMember, Connection> releasingThreadMap = new HashMap<>();
+    releasingThreadMap.put(member, connection);
+    ConnectionTable.threadOrderedConnMap.set(releasingThreadMap);
+    try {
+      table.removeAndCloseThreadOwnedSockets();
+
+      assertEquals(0, releasingThreadMap.size());
+      verify(connection, never()).closePartialConnect(anyString(), anyBoolean());
+
+      ConnectionTable.threadOrderedConnMap.remove();
+      assertSame(connection, table.getThreadOwnedConnection(member, 0, 0, 0));
+      assertSame(connection, ConnectionTable.threadOrderedConnMap.get().get(member));
+    } finally {
+      ConnectionTable.threadOrderedConnMap.remove();
+    }
+  }
+
+  @Test
+  public void idleThreadOwnedConnectionsOfDepartedMemberAreDropped() {
+    System.setProperty("p2p.MAX_IDLE_THREAD_OWNED_CONNECTIONS", "1");
+    ConnectionTable table = ConnectionTable.create(tcpConduit);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    connection.connected = true;
+    Map<DistributedMember, Connection> threadMap = new HashMap<>();
+    threadMap.put(member, connection);
+    ConnectionTable.threadOrderedConnMap.set(threadMap);
+    try {
+      table.removeAndCloseThreadOwnedSockets();
+      assertEquals(1, table.getIdleThreadOwnedConnectionCount(member));
+
+      table.removeEndpoint(member, "member departed", false);
+
+      assertEquals(0, table.getIdleThreadOwnedConnectionCount(member));
+      verify(connection).closePartialConnect("member departed", false);
+    } finally {
+      ConnectionTable.threadOrderedConnMap.remove();
+    }
+  }
+
+  @Test
+  public void releasedThreadOwnedConnectionIsClosedWhenIdleConnectionsAreFull() {
+    System.setProperty("p2p.MAX_IDLE_THREAD_OWNED_CONNECTIONS", "1");
+    ConnectionTable table = ConnectionTable.create(tcpConduit);
+    InternalDistributedMember member = mock(InternalDistributedMember.class);
+    Connection other = mock(Connection.class);
+    connection.connected = true;
+    other.connected = true;
+    Map<DistributedMember, Connection> threadMap = new HashMap<>();
+    ConnectionTable.threadOrderedConnMap.set(threadMap);
+    try {
+      threadMap.put(member, connection);
+      table.removeAndCloseThreadOwnedSockets();
+      threadMap.put(member, other);
+      table.removeAndCloseThreadOwnedSockets();
+
+      verify(connection, never()).closePartialConnect(anyString(), anyBoolean());
+      verify(other).closePartialConnect("thread finalization", false);
+      assertSame(connection, table.getThreadOwnedConnection(member, 0, 0, 0));
+    } finally {
+      ConnectionTable.threadOrderedConnMap.remove();
+    }
+  }
 }
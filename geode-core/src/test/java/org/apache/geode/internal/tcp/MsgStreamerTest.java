@@ -18,17 +18,22 @@ package org.apache.geode.internal.tcp;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import javax.net.ssl.SSLException;
 
@@ -101,6 +106,47 @@ public class MsgStreamerTest {
   }
 
 
+  @Test
+  public void largeDirectBufferIsSentWithGatheringWritesInUnchangedChunks() throws IOException {
+    DistributionMessage message = new SerialAckedMessage();
+    List<ByteBuffer> chunks = new ArrayList<>();
+    doAnswer(invocation -> {
+      chunks.add(Connection.concatenate(invocation.getArgument(0)));
+      return null;
+    }).when(connection1).sendPreserialized(any(ByteBuffer[].class), any(Boolean.class), any());
+    int chunkSize = 4096;
+    MsgStreamer msgStreamer = new MsgStreamer(Arrays.asList(connection1), message, false, stats,
+        chunkSize, pool);
+    byte[] value = new byte[MsgStreamer.GATHER_WRITE_THRESHOLD + 3 * chunkSize + 100];
+    new Random(1).nextBytes(value);
+    ByteBuffer directValue = ByteBuffer.allocateDirect(value.length);
+    directValue.put(value).flip();
+
+    msgStreamer.write(new byte[] {1, 2, 3}, 0, 3);
+    msgStreamer.write(directValue);
+
+    ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    sent.write(new byte[] {1, 2, 3});
+    sent.write(value);
+    byte[] expected = sent.toByteArray();
+    int bodySize = chunkSize - Connection.MSG_HEADER_BYTES;
+    assertThat(chunks).hasSize(expected.length / bodySize);
+    for (int i = 0; i < chunks.size(); i++) {
+      ByteBuffer chunk = chunks.get(i);
+      assertThat(chunk.remaining()).isEqualTo(chunkSize);
+      assertThat(chunk.getInt(Connection.MSG_HEADER_SIZE_OFFSET))
+          .isEqualTo(Connection.calcHdrSize(bodySize));
+      byte[] body = new byte[bodySize];
+      chunk.position(Connection.MSG_HEADER_BYTES);
+      chunk.get(body);
+      assertThat(body).isEqualTo(Arrays.copyOfRange(expected, i * bodySize, (i + 1) * bodySize));
+    }
+    assertThat(directValue.hasRemaining()).isFalse();
+    assertThat(msgStreamer.getBuffer().position() - Connection.MSG_HEADER_BYTES)
+        .isEqualTo(expected.length % bodySize);
+    verify(connection1, never()).sendPreserialized(any(ByteBuffer.class), any(Boolean.class),
+        any());
+  }
 
   protected BaseMsgStreamer createMsgStreamer(boolean mixedDestinationVersions) {
 
@@ -192,6 +192,24 @@ public class PdxInstanceImplTest {
     instance = writer.makePdxInstance();
   }
 
+  @Test
+  public void readFieldByPdxFieldReadsSameValueAsByName() {
+    PdxInstanceImpl pdxInstance = (PdxInstanceImpl) instance;
+
+    assertEquals(37, pdxInstance.readField(intField));
+    assertEquals(42L, pdxInstance.readField(longField));
+    assertEquals(3.1415, pdxInstance.readField(doubleField));
+    assertEquals(pdxInstance.readField("booleanField"), pdxInstance.readField(booleanField));
+  }
+
+  @Test
+  public void readRawFieldByPdxFieldReturnsPdxStringForStringField() {
+    PdxInstanceImpl pdxInstance = (PdxInstanceImpl) instance;
+
+    assertEquals(new PdxString("MOOF!"), pdxInstance.readRawField(stringField));
+    assertEquals(37, pdxInstance.readRawField(intField));
+  }
+
   @Test
   public void testToStringForEmpty() {
     final PdxWriterImpl writer =
@@ -34,6 +34,7 @@ import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.GatewayBatchValueCompression;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
@@ -56,7 +57,8 @@ public class GatewaySenderBatchOp {
   public static void executeOn(Connection con, ExecutablePool pool, List events, int batchId,
       boolean removeFromQueueOnException, boolean isRetry) {
     AbstractOp op = new GatewaySenderGFEBatchOpImpl(events, batchId, removeFromQueueOnException,
-        con.getDistributedSystemId(), isRetry);
+        con.getDistributedSystemId(), isRetry,
+        GatewayBatchValueCompression.isEnabled(con.getWanSiteVersion()));
     pool.executeOn(con, op, true/* timeoutFatal */);
   }
 
@@ -77,6 +79,16 @@ public class GatewaySenderBatchOp {
      */
     public GatewaySenderGFEBatchOpImpl(List events, int batchId, boolean removeFromQueueOnException,
         int dsId, boolean isRetry) {
+      this(events, batchId, removeFromQueueOnException, dsId, isRetry, false);
+    }
+
+    /**
+     * @param compressValues true if the receiver can decompress values, which are then compressed
+     *        if they are large enough
+     * @throws org.apache.geode.SerializationException if serialization fails
+     */
+    public GatewaySenderGFEBatchOpImpl(List events, int batchId, boolean removeFromQueueOnException,
+        int dsId, boolean isRetry, boolean compressValues) {
       super(MessageType.GATEWAY_RECEIVER_COMMAND, calcPartCount(events));
       if (isRetry) {
         getMessage().setIsRetry();
@@ -91,8 +103,21 @@ public class GatewaySenderBatchOp {
         // Add action
         int action = event.getAction();
         getMessage().addIntPart(action);
-        { // Add posDup flag
-          byte posDupByte = (byte) (event.getPossibleDuplicate() ? 0x01 : 0x00);
+        byte[] value = null;
+        boolean valueCompressed = false;
+        if (action == 0 || action == 1) {
+          value = event.getSerializedValue();
+          if (compressValues && GatewayBatchValueCompression.shouldCompress(value)) {
+            value = GatewayBatchValueCompression.compress(value);
+            valueCompressed = true;
+          }
+        }
+        { // Add posDup and value compression flags
+          byte posDupByte = (byte) (event.getPossibleDuplicate()
+              ? GatewayBatchValueCompression.POSSIBLE_DUPLICATE : 0x00);
+          if (valueCompressed) {
+            posDupByte |= GatewayBatchValueCompression.VALUE_COMPRESSED;
+          }
           getMessage().addBytesPart(new byte[] {posDupByte});
         }
         if (action >= 0 && action <= 3) {
@@ -111,7 +136,6 @@ public class GatewaySenderBatchOp {
           // Add key
           getMessage().addStringOrObjPart(key);
           if (action < 2 /* it is 0 or 1 */) {
-            byte[] value = event.getSerializedValue();
             byte valueIsObject = event.getValueIsObject();;
             // Add value (which is already a serialized byte[])
             getMessage().addRawPart(value, (valueIsObject == 0x01));